@@ -0,0 +1,87 @@
+package com.foongdoll.portfolio.planovabe.schedule;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cycle checks on dependency insert. {@code DependencyService} checks single edges against the maintained
+ * {@link DynamicTopologicalOrder} and bulk inserts with a full sort of {@link TaskGraph#withEdges}; the full sort
+ * of a single edge is kept as the baseline the incremental check has to beat.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CycleCheckBenchmark {
+
+    @Param({"CHAIN", "FAN_OUT", "LAYERED"})
+    public SyntheticGraphs shape;
+
+    @Param({"1000", "100000", "1000000"})
+    public int edges;
+
+    private TaskGraph graph;
+    private DynamicTopologicalOrder order;
+    private long first;
+    private long middle;
+    private long last;
+    private boolean reversed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = shape.schedule(edges).graph();
+        order = DynamicTopologicalOrder.of(graph);
+        first = graph.taskId(0);
+        middle = graph.taskId(graph.size() / 2);
+        last = graph.taskId(graph.size() - 1);
+    }
+
+    /** Edge that agrees with the current order: accepted without any search. */
+    @Benchmark
+    public boolean forwardEdge() {
+        return order.wouldCreateCycle(first, last);
+    }
+
+    /** Edge from the last task back to the first: the affected region is the whole order. */
+    @Benchmark
+    public boolean backEdgeClosingCycle() {
+        return order.wouldCreateCycle(last, first);
+    }
+
+    /**
+     * Inserts and removes an edge between the middle and the last task, alternating its direction so that every
+     * accepted insert goes against the current order and has to reorder the affected region. Where the middle
+     * task already reaches the last one (CHAIN, most LAYERED graphs) one direction is rejected as a cycle and the
+     * other needs no search.
+     */
+    @Benchmark
+    public boolean insertWithReorder() {
+        long from = reversed ? middle : last;
+        long to = reversed ? last : middle;
+        reversed = !reversed;
+        boolean added = order.addEdge(from, to);
+        if (added) {
+            order.removeEdge(from, to);
+        }
+        return added;
+    }
+
+    @Benchmark
+    public boolean fullSortBaseline() {
+        return graph.withEdges(new long[]{last}, new long[]{first}).topologicalOrder() == null;
+    }
+}
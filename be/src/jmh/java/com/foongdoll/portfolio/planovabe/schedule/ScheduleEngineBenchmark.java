@@ -0,0 +1,72 @@
+package com.foongdoll.portfolio.planovabe.schedule;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Topological sort and date propagation as {@code ScheduleService} runs them, minus loading and persisting.
+ * Each propagation first moves the root task by a day in alternating direction, so every invocation has real
+ * work to do instead of finding an already consistent schedule.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ScheduleEngineBenchmark {
+
+    @Param({"CHAIN", "FAN_OUT", "LAYERED"})
+    public SyntheticGraphs shape;
+
+    @Param({"1000", "100000", "1000000"})
+    public int edges;
+
+    private TaskSchedule schedule;
+    private long[] roots;
+    private long shift = 1;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        schedule = shape.schedule(edges);
+        ScheduleEngine.recalculate(schedule);
+        roots = new long[]{schedule.graph().taskId(0)};
+    }
+
+    @Benchmark
+    public int[] topologicalOrder() {
+        return schedule.graph().topologicalOrder();
+    }
+
+    /** Full recalculation, what a project-wide reschedule costs. */
+    @Benchmark
+    public int[] recalculate() {
+        moveRoot();
+        return ScheduleEngine.recalculate(schedule);
+    }
+
+    /** Incremental propagation from one edited task, what a single task update costs. */
+    @Benchmark
+    public int[] propagateDownstream() {
+        moveRoot();
+        return ScheduleEngine.propagateDownstream(schedule, roots, false);
+    }
+
+    private void moveRoot() {
+        schedule.startDays[0] += shift;
+        schedule.endDays[0] += shift;
+        shift = -shift;
+    }
+}
@@ -0,0 +1,79 @@
+package com.foongdoll.portfolio.planovabe.schedule;
+
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic DAGs for the benchmarks. Task IDs run from 1 to the node count and every edge points from a
+ * lower to a higher ID, so the ID order is one valid topological order.
+ */
+public enum SyntheticGraphs {
+
+    /** {@code 1 -> 2 -> ... -> n}: the longest possible propagation path. */
+    CHAIN {
+        @Override
+        int nodeCount(int edges) {
+            return edges + 1;
+        }
+
+        @Override
+        void addEdges(TaskSchedule.Builder builder, int nodes, int edges, SplittableRandom random) {
+            for (long id = 1; id < nodes; id++) {
+                builder.addEdge(id, id + 1);
+            }
+        }
+    },
+
+    /** One root with every other task as a direct successor. */
+    FAN_OUT {
+        @Override
+        int nodeCount(int edges) {
+            return edges + 1;
+        }
+
+        @Override
+        void addEdges(TaskSchedule.Builder builder, int nodes, int edges, SplittableRandom random) {
+            for (long id = 2; id <= nodes; id++) {
+                builder.addEdge(1, id);
+            }
+        }
+    },
+
+    /** Layers of {@value #LAYER_WIDTH} tasks, each with {@value #LAYERED_IN_DEGREE} random predecessors in the layer above. */
+    LAYERED {
+        @Override
+        int nodeCount(int edges) {
+            return LAYER_WIDTH + edges / LAYERED_IN_DEGREE;
+        }
+
+        @Override
+        void addEdges(TaskSchedule.Builder builder, int nodes, int edges, SplittableRandom random) {
+            for (int v = LAYER_WIDTH; v < nodes; v++) {
+                int layerStart = (v / LAYER_WIDTH - 1) * LAYER_WIDTH;
+                for (int i = 0; i < LAYERED_IN_DEGREE; i++) {
+                    builder.addEdge(layerStart + random.nextInt(LAYER_WIDTH) + 1, v + 1);
+                }
+            }
+        }
+    };
+
+    static final int LAYER_WIDTH = 100;
+    static final int LAYERED_IN_DEGREE = 4;
+    static final long START_DAY = 20_000;
+
+    abstract int nodeCount(int edges);
+
+    abstract void addEdges(TaskSchedule.Builder builder, int nodes, int edges, SplittableRandom random);
+
+    /** Every task gets a start date and a duration of 1 to 5 days; the dates are not yet propagated. */
+    public TaskSchedule schedule(int edges) {
+        SplittableRandom random = new SplittableRandom(42);
+        int nodes = nodeCount(edges);
+        TaskSchedule.Builder builder = TaskSchedule.builder(nodes, edges);
+        for (long id = 1; id <= nodes; id++) {
+            int duration = 1 + random.nextInt(5);
+            builder.addTask(id, START_DAY, duration, START_DAY + duration - 1);
+        }
+        addEdges(builder, nodes, edges, random);
+        return builder.build();
+    }
+}
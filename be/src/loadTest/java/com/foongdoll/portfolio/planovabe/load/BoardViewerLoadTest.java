@@ -0,0 +1,191 @@
+package com.foongdoll.portfolio.planovabe.load;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Simulates board viewers against a running server: every viewer is a virtual thread that loads the project
+ * snapshot, optionally holds the SSE stream open, and then polls the delta endpoint with some think time.
+ * Reports request throughput and latency percentiles per endpoint.
+ *
+ * <p>Configured through system properties: {@code baseUrl}, {@code email}, {@code password}, {@code projectId},
+ * {@code viewers}, {@code durationSeconds}, {@code thinkMillis} and {@code events}.
+ */
+public final class BoardViewerLoadTest {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern VERSION = Pattern.compile("\"version\"\\s*:\\s*(\\d+)");
+
+    private final String baseUrl;
+    private final long projectId;
+    private final HttpClient client;
+    private final LatencyRecorder snapshots = new LatencyRecorder();
+    private final LatencyRecorder changes = new LatencyRecorder();
+    private final AtomicLong openStreams = new AtomicLong();
+    private final AtomicLong peakStreams = new AtomicLong();
+    private String token;
+
+    private BoardViewerLoadTest(String baseUrl, long projectId, ExecutorService executor) {
+        this.baseUrl = baseUrl;
+        this.projectId = projectId;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(executor)
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("baseUrl", "http://localhost:8080");
+        long projectId = Long.parseLong(required("projectId"));
+        int viewers = Integer.getInteger("viewers", 2000);
+        int durationSeconds = Integer.getInteger("durationSeconds", 60);
+        long thinkMillis = Long.getLong("thinkMillis", 1000);
+        boolean events = Boolean.parseBoolean(System.getProperty("events", "true"));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            BoardViewerLoadTest test = new BoardViewerLoadTest(baseUrl, projectId, executor);
+            test.login(required("email"), required("password"));
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+            long started = System.nanoTime();
+            for (int i = 0; i < viewers; i++) {
+                executor.execute(() -> test.view(deadline, thinkMillis, events));
+            }
+            executor.shutdown();
+            executor.awaitTermination(durationSeconds + 60L, TimeUnit.SECONDS);
+            double seconds = (System.nanoTime() - started) / 1e9;
+
+            System.out.printf("viewers=%d duration=%.1fs peakStreams=%d%n", viewers, seconds, test.peakStreams.get());
+            report("snapshot", test.snapshots, seconds);
+            report("changes", test.changes, seconds);
+            executor.shutdownNow();
+        }
+    }
+
+    private void login(String email, String password) throws Exception {
+        String body = "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}";
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Login failed: " + response.statusCode() + " " + response.body());
+        }
+        token = matcher.group(1);
+    }
+
+    private void view(long deadline, long thinkMillis, boolean events) {
+        // Spread the initial load so the run measures steady state rather than one thundering herd
+        sleep(ThreadLocalRandom.current().nextLong(thinkMillis + 1));
+        String snapshot = get("/api/projects/" + projectId + "/snapshot", snapshots);
+        if (snapshot == null) {
+            return;
+        }
+        long version = version(snapshot, 0);
+
+        InputStream stream = events ? openEvents() : null;
+        try {
+            while (System.nanoTime() < deadline) {
+                sleep(thinkMillis);
+                String delta = get("/api/projects/" + projectId + "/changes?since=" + version, changes);
+                if (delta != null) {
+                    version = version(delta, version);
+                }
+            }
+        } finally {
+            if (stream != null) {
+                closeQuietly(stream);
+                openStreams.decrementAndGet();
+            }
+        }
+    }
+
+    // The stream body is left unread; the server's per-subscriber buffer bounds what it holds for us
+    private InputStream openEvents() {
+        try {
+            HttpResponse<InputStream> response = client.send(request("/api/projects/" + projectId + "/events")
+                    .header("Accept", "text/event-stream")
+                    .build(), HttpResponse.BodyHandlers.ofInputStream());
+            if (response.statusCode() != 200) {
+                closeQuietly(response.body());
+                return null;
+            }
+            long open = openStreams.incrementAndGet();
+            peakStreams.accumulateAndGet(open, Math::max);
+            return response.body();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private String get(String path, LatencyRecorder recorder) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request(path).GET().build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                recorder.failed();
+                return null;
+            }
+            recorder.record(System.nanoTime() - start);
+            return response.body();
+        } catch (Exception e) {
+            recorder.failed();
+            return null;
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private static long version(String body, long fallback) {
+        Matcher matcher = VERSION.matcher(body);
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : fallback;
+    }
+
+    private static String required(String name) {
+        String value = System.getProperty(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing system property: " + name);
+        }
+        return value;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        try {
+            stream.close();
+        } catch (Exception ignored) {
+        }
+    }
+
+    private static void report(String name, LatencyRecorder recorder, double seconds) {
+        long[] sorted = recorder.sorted();
+        System.out.printf("%-9s requests=%d failed=%d throughput=%.1f/s p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms%n",
+                name, sorted.length, recorder.failures(), sorted.length / seconds,
+                LatencyRecorder.millis(sorted, 0.50), LatencyRecorder.millis(sorted, 0.95),
+                LatencyRecorder.millis(sorted, 0.99), LatencyRecorder.millis(sorted, 1.0));
+    }
+}
@@ -0,0 +1,132 @@
+package com.foongdoll.portfolio.planovabe.load;
+
+import com.foongdoll.portfolio.planovabe.PlanovabeApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boots the application against in-memory H2 in MySQL mode with the Flyway migrations, seeds projects of a
+ * configurable size and drives the {@link Workload} mix from concurrent clients. Prints p50/p99 latency and the
+ * average number of SQL statements per request for every endpoint.
+ *
+ * <p>Configured through system properties: {@code projects}, {@code tasksPerProject},
+ * {@code dependenciesPerProject}, {@code calendarEvents}, {@code clients}, {@code warmupSeconds} and
+ * {@code durationSeconds}.
+ */
+public final class EndToEndLoadTest {
+
+    private EndToEndLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int projectCount = Integer.getInteger("projects", 4);
+        int tasksPerProject = Integer.getInteger("tasksPerProject", 2000);
+        int dependenciesPerProject = Integer.getInteger("dependenciesPerProject", 4000);
+        int calendarEvents = Integer.getInteger("calendarEvents", 2000);
+        int clients = Integer.getInteger("clients", 32);
+        int warmupSeconds = Integer.getInteger("warmupSeconds", 15);
+        int durationSeconds = Integer.getInteger("durationSeconds", 60);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(PlanovabeApplication.class,
+                LoadTestConfiguration.class).profiles("loadtest").run(args);
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .executor(executor)
+                    .build();
+
+            JsonNode auth = post(client, baseUrl + "/api/auth/signup", null,
+                    "{\"email\":\"load@planova.test\",\"password\":\"load-test\"}");
+            String token = auth.path("token").asString();
+            long userId = auth.path("user").path("id").asLong();
+
+            long seedStart = System.nanoTime();
+            Seeder seeder = new Seeder(context.getBean(JdbcTemplate.class));
+            List<Workload.Project> projects = new ArrayList<>(projectCount);
+            for (int i = 0; i < projectCount; i++) {
+                long projectId = post(client, baseUrl + "/api/projects", token,
+                        "{\"name\":\"Load project " + (i + 1) + "\"}").path("id").asLong();
+                long[] taskIds = seeder.seedProject(projectId, tasksPerProject, dependenciesPerProject);
+                post(client, baseUrl + "/api/projects/" + projectId + "/recalculate", token, null);
+                projects.add(new Workload.Project(projectId, taskIds));
+            }
+            List<Long> events = seeder.seedCalendar(userId, calendarEvents);
+            System.out.printf("seeded %d projects x %d tasks / %d dependencies, %d events in %.1fs%n",
+                    projectCount, tasksPerProject, dependenciesPerProject, calendarEvents,
+                    (System.nanoTime() - seedStart) / 1e9);
+
+            Workload workload = new Workload(client, baseUrl, token, projects, events);
+            SqlStatementCounter statements = context.getBean(SqlStatementCounter.class);
+            run(workload, clients, warmupSeconds);
+            workload.reset();
+            statements.reset();
+            long started = System.nanoTime();
+            run(workload, clients, durationSeconds);
+            double seconds = (System.nanoTime() - started) / 1e9;
+
+            report(workload.recorders(), statements, clients, seconds);
+        }
+    }
+
+    private static void run(Workload workload, int clients, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        try (ExecutorService drivers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                long seed = i;
+                drivers.execute(() -> workload.runUntil(deadline, seed));
+            }
+            drivers.shutdown();
+            drivers.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void report(Map<String, LatencyRecorder> recorders, SqlStatementCounter statements,
+                               int clients, double seconds) {
+        System.out.printf("%d clients, %.1fs measured%n", clients, seconds);
+        System.out.printf("%-48s %8s %6s %6s %9s %9s %9s%n",
+                "endpoint", "requests", "4xx", "failed", "p50 ms", "p99 ms", "sql/req");
+        long total = 0;
+        for (Map.Entry<String, LatencyRecorder> entry : recorders.entrySet()) {
+            LatencyRecorder recorder = entry.getValue();
+            long[] sorted = recorder.sorted();
+            SqlStatementCounter.Totals sql = statements.totals(entry.getKey());
+            System.out.printf("%-48s %8d %6d %6d %9.1f %9.1f %9.1f%n", entry.getKey(), sorted.length,
+                    recorder.rejected(), recorder.failures(),
+                    LatencyRecorder.millis(sorted, 0.50), LatencyRecorder.millis(sorted, 0.99),
+                    sql != null ? sql.perRequest() : 0.0);
+            total += sorted.length;
+        }
+        System.out.printf("throughput %.1f requests/s%n", total / seconds);
+    }
+
+    private static JsonNode post(HttpClient client, String url, String token, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(body != null ? HttpRequest.BodyPublishers.ofString(body) : HttpRequest.BodyPublishers.noBody());
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException(url + " answered " + response.statusCode() + ": " + response.body());
+        }
+        return response.body().isEmpty() ? null : JsonMapper.builder().build().readTree(response.body());
+    }
+}
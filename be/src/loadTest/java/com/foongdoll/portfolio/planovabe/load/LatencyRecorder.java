@@ -0,0 +1,65 @@
+package com.foongdoll.portfolio.planovabe.load;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Latencies of one request type, recorded from many virtual threads. The critical sections are a few array
+ * stores, so a monitor is cheaper here than anything lock-free.
+ */
+final class LatencyRecorder {
+
+    private final List<long[]> chunks = new ArrayList<>();
+    private long[] current = new long[4096];
+    private int size;
+    private long failures;
+    private long rejected;
+
+    synchronized void record(long nanos) {
+        if (size == current.length) {
+            chunks.add(current);
+            current = new long[current.length];
+            size = 0;
+        }
+        current[size++] = nanos;
+    }
+
+    /** A 4xx answer: measured like a success, but counted separately. */
+    synchronized void rejected(long nanos) {
+        record(nanos);
+        rejected++;
+    }
+
+    synchronized void failed() {
+        failures++;
+    }
+
+    synchronized long failures() {
+        return failures;
+    }
+
+    synchronized long rejected() {
+        return rejected;
+    }
+
+    synchronized long[] sorted() {
+        long[] all = new long[chunks.size() * current.length + size];
+        int offset = 0;
+        for (long[] chunk : chunks) {
+            System.arraycopy(chunk, 0, all, offset, chunk.length);
+            offset += chunk.length;
+        }
+        System.arraycopy(current, 0, all, offset, size);
+        Arrays.sort(all);
+        return all;
+    }
+
+    static double millis(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+}
@@ -0,0 +1,24 @@
+package com.foongdoll.portfolio.planovabe.load;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class LoadTestConfiguration {
+
+    // Static so the data source is wrapped before anything else asks for it
+    @Bean
+    static SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    // Ahead of the security chain, so statements issued while authenticating count towards the endpoint
+    @Bean
+    FilterRegistrationBean<SqlStatementCounter> sqlStatementCounterRegistration(SqlStatementCounter counter) {
+        FilterRegistrationBean<SqlStatementCounter> registration = new FilterRegistrationBean<>(counter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,78 @@
+package com.foongdoll.portfolio.planovabe.load;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Bulk-loads tasks, dependencies and calendar events straight through JDBC, so seeding large projects does not
+ * dominate the run. Dependencies form a random layered DAG, the shape real boards tend to have.
+ */
+final class Seeder {
+
+    static final LocalDate START = LocalDate.of(2026, 1, 5);
+    private static final int LAYER_WIDTH = 50;
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    Seeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** @return IDs of the seeded tasks in ascending order */
+    long[] seedProject(long projectId, int tasks, int dependencies) {
+        List<Object[]> rows = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            int duration = 1 + random.nextInt(10);
+            rows.add(new Object[]{projectId, "Task " + (i + 1), Date.valueOf(START), duration,
+                    Date.valueOf(START.plusDays(duration - 1)), i});
+        }
+        batch("INSERT INTO tasks (project_id, title, status, start_date, duration_days, end_date, sort_order)"
+                + " VALUES (?, ?, 'TODO', ?, ?, ?, ?)", rows);
+        long[] taskIds = jdbcTemplate.queryForList("SELECT id FROM tasks WHERE project_id = ? ORDER BY id",
+                Long.class, projectId).stream().mapToLong(Long::longValue).toArray();
+
+        // Edges only point into the next layer, so the graph is acyclic however many are drawn
+        int layers = (tasks + LAYER_WIDTH - 1) / LAYER_WIDTH;
+        int target = layers > 1 ? Math.min(dependencies, (tasks - LAYER_WIDTH) * LAYER_WIDTH) : 0;
+        Set<Long> seen = new HashSet<>();
+        rows = new ArrayList<>(target);
+        while (rows.size() < target) {
+            int to = LAYER_WIDTH + random.nextInt(tasks - LAYER_WIDTH);
+            int layerStart = (to / LAYER_WIDTH - 1) * LAYER_WIDTH;
+            int from = layerStart + random.nextInt(LAYER_WIDTH);
+            if (seen.add((long) from * tasks + to)) {
+                rows.add(new Object[]{projectId, taskIds[from], taskIds[to]});
+            }
+        }
+        batch("INSERT INTO dependencies (project_id, from_task_id, to_task_id) VALUES (?, ?, ?)", rows);
+        return taskIds;
+    }
+
+    /** @return IDs of the seeded events */
+    List<Long> seedCalendar(long userId, int events) {
+        List<Object[]> rows = new ArrayList<>(events);
+        for (int i = 0; i < events; i++) {
+            LocalDate start = START.plusDays(random.nextInt(365));
+            rows.add(new Object[]{userId, "Event " + (i + 1), Date.valueOf(start),
+                    Date.valueOf(start.plusDays(random.nextInt(3)))});
+        }
+        batch("INSERT INTO calendar_events (user_id, title, start_date, end_date, all_day) VALUES (?, ?, ?, ?, TRUE)",
+                rows);
+        return jdbcTemplate.queryForList("SELECT id FROM calendar_events WHERE user_id = ?", Long.class, userId);
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + BATCH_SIZE)));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.foongdoll.portfolio.planovabe.load;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts JDBC executions per endpoint. The data source is wrapped so every {@code execute*} call on a statement
+ * bumps the counter of the request running on the current thread; a batch counts as one execution, since that
+ * is one round trip. Covers Hibernate and {@code JdbcTemplate} alike.
+ */
+final class SqlStatementCounter extends OncePerRequestFilter implements BeanPostProcessor {
+
+    private static final ThreadLocal<long[]> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Totals> totals = new ConcurrentHashMap<>();
+
+    record Totals(LongAdder requests, LongAdder statements) {
+
+        double perRequest() {
+            long count = requests.sum();
+            return count == 0 ? 0 : (double) statements.sum() / count;
+        }
+    }
+
+    Totals totals(String endpoint) {
+        return totals.get(endpoint);
+    }
+
+    void reset() {
+        totals.clear();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long[] count = new long[1];
+        CURRENT.set(count);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            CURRENT.remove();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                Totals endpoint = totals.computeIfAbsent(request.getMethod() + " " + pattern,
+                        key -> new Totals(new LongAdder(), new LongAdder()));
+                endpoint.requests().increment();
+                endpoint.statements().add(count[0]);
+            }
+        }
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, dataSource);
+        }
+        return bean;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (target instanceof Statement && method.getName().startsWith("execute")) {
+                long[] count = CURRENT.get();
+                if (count != null) {
+                    count[0]++;
+                }
+            }
+            Object result = invoke(method, target, args);
+            Class<?> returnType = method.getReturnType();
+            if (result != null && (returnType == Connection.class || Statement.class.isAssignableFrom(returnType))) {
+                return proxy((Class<Object>) returnType, result);
+            }
+            return result;
+        };
+        return (T) Proxy.newProxyInstance(SqlStatementCounter.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
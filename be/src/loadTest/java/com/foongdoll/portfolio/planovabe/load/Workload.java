@@ -0,0 +1,228 @@
+package com.foongdoll.portfolio.planovabe.load;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The request mix of people working on boards: mostly reads of tasks, dependencies and the calendar, a steady
+ * stream of task edits that move dates downstream, and occasional structural changes and full reschedules.
+ * Keys are {@code METHOD pattern}, matching what the server side records for statement counts.
+ */
+final class Workload {
+
+    private static final ObjectMapper JSON = JsonMapper.builder().build();
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final String token;
+    private final List<Project> projects;
+    private final Queue<Long> events;
+    private final Map<String, LatencyRecorder> recorders = new ConcurrentHashMap<>();
+    private final Operation[] mix;
+    private final int totalWeight;
+
+    record Project(long id, long[] taskIds, Queue<Long> createdTasks, Queue<Long> createdDependencies) {
+
+        Project(long id, long[] taskIds) {
+            this(id, taskIds, new ConcurrentLinkedQueue<>(), new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    private record Operation(int weight, Step step) {
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        void run(Project project, SplittableRandom random);
+    }
+
+    Workload(HttpClient client, String baseUrl, String token, List<Project> projects, List<Long> events) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.token = token;
+        this.projects = projects;
+        this.events = new ConcurrentLinkedQueue<>(events);
+        this.mix = new Operation[]{
+                new Operation(20, this::listTasks),
+                new Operation(10, this::listDependencies),
+                new Operation(18, this::updateTask),
+                new Operation(5, this::createTask),
+                new Operation(2, this::deleteTask),
+                new Operation(8, this::createDependency),
+                new Operation(3, this::deleteDependency),
+                new Operation(2, this::recalculate),
+                new Operation(5, this::criticalPath),
+                new Operation(15, this::listEvents),
+                new Operation(8, this::createEvent),
+                new Operation(4, this::updateEvent),
+        };
+        int sum = 0;
+        for (Operation operation : mix) {
+            sum += operation.weight();
+        }
+        this.totalWeight = sum;
+    }
+
+    void runUntil(long deadlineNanos, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        while (System.nanoTime() < deadlineNanos) {
+            Project project = projects.get(random.nextInt(projects.size()));
+            int pick = random.nextInt(totalWeight);
+            for (Operation operation : mix) {
+                pick -= operation.weight();
+                if (pick < 0) {
+                    operation.step().run(project, random);
+                    break;
+                }
+            }
+        }
+    }
+
+    /** Latency recorders by endpoint, sorted by key. */
+    Map<String, LatencyRecorder> recorders() {
+        return new TreeMap<>(recorders);
+    }
+
+    void reset() {
+        recorders.clear();
+    }
+
+    private void listTasks(Project project, SplittableRandom random) {
+        send("GET /api/projects/{projectId}/tasks", "GET", "/api/projects/" + project.id() + "/tasks", null);
+    }
+
+    private void listDependencies(Project project, SplittableRandom random) {
+        send("GET /api/projects/{projectId}/dependencies", "GET",
+                "/api/projects/" + project.id() + "/dependencies", null);
+    }
+
+    private void updateTask(Project project, SplittableRandom random) {
+        long taskId = project.taskIds()[random.nextInt(project.taskIds().length)];
+        send("PATCH /api/tasks/{taskId}", "PATCH", "/api/tasks/" + taskId,
+                "{\"durationDays\":" + (1 + random.nextInt(10)) + "}");
+    }
+
+    private void createTask(Project project, SplittableRandom random) {
+        JsonNode task = send("POST /api/projects/{projectId}/tasks", "POST", "/api/projects/" + project.id() + "/tasks",
+                "{\"title\":\"Load task\",\"startDate\":\"" + Seeder.START + "\",\"durationDays\":"
+                        + (1 + random.nextInt(10)) + "}");
+        if (task != null) {
+            project.createdTasks().add(task.path("id").asLong());
+        }
+    }
+
+    private void deleteTask(Project project, SplittableRandom random) {
+        Long taskId = project.createdTasks().poll();
+        if (taskId == null) {
+            createTask(project, random);
+            return;
+        }
+        send("DELETE /api/tasks/{taskId}", "DELETE", "/api/tasks/" + taskId, null);
+    }
+
+    // Seeded IDs ascend along every edge, so a forward pair never closes a cycle; duplicates answer 4xx
+    private void createDependency(Project project, SplittableRandom random) {
+        long[] ids = project.taskIds();
+        int a = random.nextInt(ids.length);
+        int b = random.nextInt(ids.length);
+        if (a == b) {
+            return;
+        }
+        JsonNode dependency = send("POST /api/projects/{projectId}/dependencies", "POST",
+                "/api/projects/" + project.id() + "/dependencies",
+                "{\"fromTaskId\":" + ids[Math.min(a, b)] + ",\"toTaskId\":" + ids[Math.max(a, b)] + "}");
+        if (dependency != null) {
+            project.createdDependencies().add(dependency.path("id").asLong());
+        }
+    }
+
+    private void deleteDependency(Project project, SplittableRandom random) {
+        Long dependencyId = project.createdDependencies().poll();
+        if (dependencyId == null) {
+            createDependency(project, random);
+            return;
+        }
+        send("DELETE /api/dependencies/{depId}", "DELETE", "/api/dependencies/" + dependencyId, null);
+    }
+
+    private void recalculate(Project project, SplittableRandom random) {
+        send("POST /api/projects/{projectId}/recalculate", "POST",
+                "/api/projects/" + project.id() + "/recalculate", null);
+    }
+
+    private void criticalPath(Project project, SplittableRandom random) {
+        send("GET /api/projects/{projectId}/critical-path", "GET",
+                "/api/projects/" + project.id() + "/critical-path", null);
+    }
+
+    private void listEvents(Project project, SplittableRandom random) {
+        LocalDate from = Seeder.START.plusDays(random.nextInt(335));
+        send("GET /api/calendar/events", "GET",
+                "/api/calendar/events?startDate=" + from + "&endDate=" + from.plusDays(30), null);
+    }
+
+    private void createEvent(Project project, SplittableRandom random) {
+        LocalDate day = Seeder.START.plusDays(random.nextInt(365));
+        JsonNode event = send("POST /api/calendar/events", "POST", "/api/calendar/events",
+                "{\"title\":\"Load event\",\"startDate\":\"" + day + "\",\"endDate\":\"" + day + "\"}");
+        if (event != null) {
+            events.add(event.path("id").asLong());
+        }
+    }
+
+    private void updateEvent(Project project, SplittableRandom random) {
+        Long eventId = events.poll();
+        if (eventId == null) {
+            createEvent(project, random);
+            return;
+        }
+        send("PATCH /api/calendar/events/{eventId}", "PATCH", "/api/calendar/events/" + eventId,
+                "{\"title\":\"Moved event " + random.nextInt(1000) + "\"}");
+        events.add(eventId);
+    }
+
+    /** @return the parsed body of a 2xx answer with content, otherwise {@code null} */
+    private JsonNode send(String key, String method, String path, String body) {
+        LatencyRecorder recorder = recorders.computeIfAbsent(key, k -> new LatencyRecorder());
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .method(method, body != null ? HttpRequest.BodyPublishers.ofString(body) : HttpRequest.BodyPublishers.noBody())
+                .build();
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            long elapsed = System.nanoTime() - start;
+            int status = response.statusCode();
+            if (status >= 500) {
+                recorder.failed();
+                return null;
+            }
+            if (status >= 400) {
+                recorder.rejected(elapsed);
+                return null;
+            }
+            recorder.record(elapsed);
+            return response.body().isEmpty() ? null : JSON.readTree(response.body());
+        } catch (Exception e) {
+            recorder.failed();
+            return null;
+        }
+    }
+}
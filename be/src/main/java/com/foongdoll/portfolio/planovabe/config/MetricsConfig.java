@@ -0,0 +1,16 @@
+package com.foongdoll.portfolio.planovabe.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // Static, and the registry is resolved lazily, so repositories are still post-processed normally
+    @Bean
+    public static RepositoryMetricsPostProcessor repositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> registry) {
+        return new RepositoryMetricsPostProcessor(registry);
+    }
+}
@@ -0,0 +1,83 @@
+package com.foongdoll.portfolio.planovabe.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every call into the JDBC repositories as {@code repository.query}, tagged with repository, method and
+ * outcome. Spring Data repositories are already timed by Boot as {@code spring.data.repository.invocations};
+ * the JDBC repositories are plain {@code @Repository} classes and get a timing advice instead.
+ */
+public class RepositoryMetricsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<MeterRegistry> registry;
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Class<?> type = AopUtils.getTargetClass(bean);
+        if (bean instanceof org.springframework.data.repository.Repository<?, ?>
+                || !AnnotatedElementUtils.hasAnnotation(type, Repository.class)) {
+            return bean;
+        }
+
+        String repository = type.getSimpleName();
+        MethodInterceptor timing = invocation -> {
+            long start = System.nanoTime();
+            String outcome = "success";
+            try {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                outcome = "error";
+                throw e;
+            } finally {
+                record(repository, invocation.getMethod().getName(), outcome, System.nanoTime() - start);
+            }
+        };
+
+        // Exception translation may already have proxied the bean; join that proxy rather than wrapping it
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice(0, timing);
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(timing);
+        return proxyFactory.getProxy(type.getClassLoader());
+    }
+
+    private void record(String repository, String method, String outcome, long nanos) {
+        TimerKey timerKey = new TimerKey(repository, method, outcome);
+        Timer timer = timers.get(timerKey);
+        if (timer == null) {
+            MeterRegistry meterRegistry = registry.getIfAvailable();
+            if (meterRegistry == null) {
+                return;
+            }
+            timer = timers.computeIfAbsent(timerKey, key -> Timer.builder("repository.query")
+                    .tag("repository", key.repository())
+                    .tag("method", key.method())
+                    .tag("outcome", key.outcome())
+                    .register(meterRegistry));
+        }
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private record TimerKey(String repository, String method, String outcome) {}
+}
@@ -1,6 +1,7 @@
 package com.foongdoll.portfolio.planovabe.config;
 
 import com.foongdoll.portfolio.planovabe.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -35,12 +36,17 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // Streaming responses (snapshot, SSE) finish on an async dispatch of an already authorized request
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                // Actuator is only mapped on the loopback management port, so these never open the app port
                 .requestMatchers(
                     "/api/auth/signup",
                     "/api/auth/login",
                     "/swagger-ui/**",
                     "/swagger-ui.html",
-                    "/v3/api-docs/**"
+                    "/v3/api-docs/**",
+                    "/actuator/health",
+                    "/actuator/prometheus"
                 ).permitAll()
                 .anyRequest().authenticated()
             )
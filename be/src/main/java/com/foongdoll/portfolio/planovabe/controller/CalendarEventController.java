@@ -3,6 +3,7 @@ package com.foongdoll.portfolio.planovabe.controller;
 import com.foongdoll.portfolio.planovabe.dto.request.CreateCalendarEventRequest;
 import com.foongdoll.portfolio.planovabe.dto.request.UpdateCalendarEventRequest;
 import com.foongdoll.portfolio.planovabe.dto.response.CalendarEventResponse;
+import com.foongdoll.portfolio.planovabe.dto.response.PageResponse;
 import com.foongdoll.portfolio.planovabe.security.UserPrincipal;
 import com.foongdoll.portfolio.planovabe.service.CalendarEventService;
 import jakarta.validation.Valid;
@@ -13,7 +14,6 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/calendar/events")
@@ -26,12 +26,14 @@ public class CalendarEventController {
     }
 
     @GetMapping
-    public ResponseEntity<List<CalendarEventResponse>> getEvents(
+    public ResponseEntity<PageResponse<CalendarEventResponse>> getEvents(
             @AuthenticationPrincipal UserPrincipal principal,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
     ) {
-        return ResponseEntity.ok(calendarEventService.getEvents(principal.id(), startDate, endDate));
+        return ResponseEntity.ok(calendarEventService.getEvents(principal.id(), startDate, endDate, cursor, limit));
     }
 
     @PostMapping
@@ -47,11 +49,20 @@ public class CalendarEventController {
     public ResponseEntity<CalendarEventResponse> updateEvent(
             @AuthenticationPrincipal UserPrincipal principal,
             @PathVariable Long eventId,
-            @RequestBody UpdateCalendarEventRequest request
+            @Valid @RequestBody UpdateCalendarEventRequest request
     ) {
         return ResponseEntity.ok(calendarEventService.updateEvent(principal.id(), eventId, request));
     }
 
+    @DeleteMapping("/{eventId}/occurrences/{occurrenceDate}")
+    public ResponseEntity<CalendarEventResponse> deleteOccurrence(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @PathVariable Long eventId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate occurrenceDate
+    ) {
+        return ResponseEntity.ok(calendarEventService.deleteOccurrence(principal.id(), eventId, occurrenceDate));
+    }
+
     @DeleteMapping("/{eventId}")
     public ResponseEntity<Void> deleteEvent(
             @AuthenticationPrincipal UserPrincipal principal,
@@ -1,7 +1,9 @@
 package com.foongdoll.portfolio.planovabe.controller;
 
+import com.foongdoll.portfolio.planovabe.dto.request.BulkCreateDependenciesRequest;
 import com.foongdoll.portfolio.planovabe.dto.request.CreateDependencyRequest;
 import com.foongdoll.portfolio.planovabe.dto.response.DependencyResponse;
+import com.foongdoll.portfolio.planovabe.dto.response.PageResponse;
 import com.foongdoll.portfolio.planovabe.service.DependencyService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
@@ -20,8 +22,10 @@ public class DependencyController {
     }
 
     @GetMapping("/api/projects/{projectId}/dependencies")
-    public ResponseEntity<List<DependencyResponse>> getByProject(@PathVariable Long projectId) {
-        return ResponseEntity.ok(dependencyService.getDependenciesByProject(projectId));
+    public ResponseEntity<PageResponse<DependencyResponse>> getByProject(@PathVariable Long projectId,
+                                                                         @RequestParam(required = false) String cursor,
+                                                                         @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(dependencyService.getDependenciesByProject(projectId, cursor, limit));
     }
 
     @PostMapping("/api/projects/{projectId}/dependencies")
@@ -30,6 +34,12 @@ public class DependencyController {
         return ResponseEntity.status(HttpStatus.CREATED).body(dependencyService.createDependency(projectId, request));
     }
 
+    @PostMapping("/api/projects/{projectId}/dependencies/bulk")
+    public ResponseEntity<List<DependencyResponse>> createBulk(@PathVariable Long projectId,
+                                                               @Valid @RequestBody BulkCreateDependenciesRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(dependencyService.createDependencies(projectId, request));
+    }
+
     @DeleteMapping("/api/dependencies/{depId}")
     public ResponseEntity<Void> delete(@PathVariable Long depId) {
         dependencyService.deleteDependency(depId);
@@ -1,29 +1,56 @@
 package com.foongdoll.portfolio.planovabe.controller;
 
+import com.foongdoll.portfolio.planovabe.dto.request.CloneProjectRequest;
 import com.foongdoll.portfolio.planovabe.dto.request.CreateProjectRequest;
 import com.foongdoll.portfolio.planovabe.dto.request.UpdateProjectRequest;
+import com.foongdoll.portfolio.planovabe.dto.response.PageResponse;
+import com.foongdoll.portfolio.planovabe.dto.response.ProjectImportResponse;
+import com.foongdoll.portfolio.planovabe.dto.response.ProjectChangesResponse;
 import com.foongdoll.portfolio.planovabe.dto.response.ProjectResponse;
+import com.foongdoll.portfolio.planovabe.service.ProjectChangeService;
+import com.foongdoll.portfolio.planovabe.service.ProjectEventBroadcaster;
+import com.foongdoll.portfolio.planovabe.service.ProjectExportService;
+import com.foongdoll.portfolio.planovabe.service.ProjectImportService;
 import com.foongdoll.portfolio.planovabe.service.ProjectService;
+import com.foongdoll.portfolio.planovabe.service.ProjectSnapshotService;
 import jakarta.validation.Valid;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.InputStream;
 
 @RestController
 @RequestMapping("/api/projects")
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final ProjectSnapshotService projectSnapshotService;
+    private final ProjectChangeService projectChangeService;
+    private final ProjectEventBroadcaster projectEventBroadcaster;
+    private final ProjectExportService projectExportService;
+    private final ProjectImportService projectImportService;
 
-    public ProjectController(ProjectService projectService) {
+    public ProjectController(ProjectService projectService, ProjectSnapshotService projectSnapshotService,
+                             ProjectChangeService projectChangeService, ProjectEventBroadcaster projectEventBroadcaster,
+                             ProjectExportService projectExportService, ProjectImportService projectImportService) {
         this.projectService = projectService;
+        this.projectSnapshotService = projectSnapshotService;
+        this.projectChangeService = projectChangeService;
+        this.projectEventBroadcaster = projectEventBroadcaster;
+        this.projectExportService = projectExportService;
+        this.projectImportService = projectImportService;
     }
 
     @GetMapping
-    public ResponseEntity<List<ProjectResponse>> getAll() {
-        return ResponseEntity.ok(projectService.getAllProjects());
+    public ResponseEntity<PageResponse<ProjectResponse>> getAll(@RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(projectService.getAllProjects(cursor, limit));
     }
 
     @GetMapping("/{id}")
@@ -31,11 +58,61 @@ public class ProjectController {
         return ResponseEntity.ok(projectService.getProject(id));
     }
 
+    @GetMapping("/{id}/snapshot")
+    public ResponseEntity<StreamingResponseBody> getSnapshot(@PathVariable Long id) {
+        ProjectResponse project = projectService.getProject(id);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> projectSnapshotService.writeSnapshot(project, out));
+    }
+
+    @GetMapping("/{id}/export")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable Long id,
+                                                        @RequestParam(defaultValue = "false") boolean gzip) {
+        ProjectResponse project = projectService.getProject(id);
+        String filename = "project-" + id + (gzip ? ".ndjson.gz" : ".ndjson");
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(out -> projectExportService.writeExport(project, out, gzip));
+    }
+
+    @GetMapping("/{id}/changes")
+    public ResponseEntity<ProjectChangesResponse> getChanges(@PathVariable Long id,
+                                                             @RequestParam(defaultValue = "0") long since) {
+        return ResponseEntity.ok(projectChangeService.getChanges(id, since));
+    }
+
+    @GetMapping(path = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@PathVariable Long id) {
+        projectService.getProject(id);
+        return projectEventBroadcaster.subscribe(id);
+    }
+
     @PostMapping
     public ResponseEntity<ProjectResponse> create(@Valid @RequestBody CreateProjectRequest request) {
         return ResponseEntity.status(HttpStatus.CREATED).body(projectService.createProject(request));
     }
 
+    @PostMapping("/{id}/clone")
+    public ResponseEntity<ProjectResponse> cloneProject(@PathVariable Long id,
+                                                        @Valid @RequestBody(required = false) CloneProjectRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(projectService.cloneProject(id, request));
+    }
+
+    // Accepts the export's NDJSON, gzipped when sent with Content-Encoding: gzip or ?gzip=true
+    @PostMapping("/import")
+    public ResponseEntity<ProjectImportResponse> importProject(
+            InputStream body,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) String name) {
+        boolean compressed = gzip || "gzip".equalsIgnoreCase(contentEncoding);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(projectImportService.importProject(body, compressed, name));
+    }
+
     @PatchMapping("/{id}")
     public ResponseEntity<ProjectResponse> update(@PathVariable Long id, @RequestBody UpdateProjectRequest request) {
         return ResponseEntity.ok(projectService.updateProject(id, request));
@@ -1,23 +1,67 @@
 package com.foongdoll.portfolio.planovabe.controller;
 
+import com.foongdoll.portfolio.planovabe.dto.response.CriticalPathResponse;
+import com.foongdoll.portfolio.planovabe.dto.response.PageResponse;
+import com.foongdoll.portfolio.planovabe.dto.response.RecalculationJobResponse;
 import com.foongdoll.portfolio.planovabe.dto.response.TaskResponse;
+import com.foongdoll.portfolio.planovabe.service.RecalculationJob;
+import com.foongdoll.portfolio.planovabe.service.RecalculationJobService;
 import com.foongdoll.portfolio.planovabe.service.ScheduleService;
+import com.foongdoll.portfolio.planovabe.service.TaskService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 public class ScheduleController {
 
     private final ScheduleService scheduleService;
+    private final RecalculationJobService recalculationJobService;
+    private final TaskService taskService;
+    private final AsyncTaskExecutor taskExecutor;
 
-    public ScheduleController(ScheduleService scheduleService) {
+    public ScheduleController(ScheduleService scheduleService, RecalculationJobService recalculationJobService,
+                              TaskService taskService,
+                              @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor) {
         this.scheduleService = scheduleService;
+        this.recalculationJobService = recalculationJobService;
+        this.taskService = taskService;
+        this.taskExecutor = taskExecutor;
     }
 
+    /**
+     * Waits for the project's recalculation job, shared with any concurrent callers, and returns the first page of
+     * tasks; its cursor continues on the task listing. The job completes on a recalculation worker, so the page is
+     * read on the application's (virtual thread) executor rather than holding up the bounded pool.
+     */
     @PostMapping("/api/projects/{projectId}/recalculate")
-    public ResponseEntity<List<TaskResponse>> recalculate(@PathVariable Long projectId) {
-        return ResponseEntity.ok(scheduleService.recalculate(projectId));
+    public CompletableFuture<ResponseEntity<PageResponse<TaskResponse>>> recalculate(
+            @PathVariable Long projectId, @RequestParam(required = false) Integer limit) {
+        return recalculationJobService.submit(projectId).completion()
+                .thenApplyAsync(job -> ResponseEntity.ok(taskService.getTasksByProject(projectId, null, limit)),
+                        taskExecutor);
+    }
+
+    @PostMapping("/api/projects/{projectId}/recalculation-jobs")
+    public ResponseEntity<RecalculationJobResponse> submitRecalculation(@PathVariable Long projectId) {
+        RecalculationJob job = recalculationJobService.submit(projectId);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/projects/" + projectId + "/recalculation-jobs/" + job.getId()))
+                .body(RecalculationJobResponse.from(job));
+    }
+
+    @GetMapping("/api/projects/{projectId}/recalculation-jobs/{jobId}")
+    public ResponseEntity<RecalculationJobResponse> getRecalculation(@PathVariable Long projectId,
+                                                                     @PathVariable String jobId) {
+        return ResponseEntity.ok(recalculationJobService.getJob(projectId, jobId));
+    }
+
+    @GetMapping("/api/projects/{projectId}/critical-path")
+    public ResponseEntity<CriticalPathResponse> criticalPath(@PathVariable Long projectId) {
+        return ResponseEntity.ok(scheduleService.criticalPath(projectId));
     }
 }
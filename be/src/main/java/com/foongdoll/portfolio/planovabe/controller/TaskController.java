@@ -1,7 +1,10 @@
 package com.foongdoll.portfolio.planovabe.controller;
 
 import com.foongdoll.portfolio.planovabe.dto.request.CreateTaskRequest;
+import com.foongdoll.portfolio.planovabe.dto.request.TaskBatchRequest;
 import com.foongdoll.portfolio.planovabe.dto.request.UpdateTaskRequest;
+import com.foongdoll.portfolio.planovabe.dto.response.PageResponse;
+import com.foongdoll.portfolio.planovabe.dto.response.TaskBatchResponse;
 import com.foongdoll.portfolio.planovabe.dto.response.TaskResponse;
 import com.foongdoll.portfolio.planovabe.service.TaskService;
 import jakarta.validation.Valid;
@@ -9,8 +12,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 public class TaskController {
 
@@ -21,8 +22,10 @@ public class TaskController {
     }
 
     @GetMapping("/api/projects/{projectId}/tasks")
-    public ResponseEntity<List<TaskResponse>> getByProject(@PathVariable Long projectId) {
-        return ResponseEntity.ok(taskService.getTasksByProject(projectId));
+    public ResponseEntity<PageResponse<TaskResponse>> getByProject(@PathVariable Long projectId,
+                                                                   @RequestParam(required = false) String cursor,
+                                                                   @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(taskService.getTasksByProject(projectId, cursor, limit));
     }
 
     @PostMapping("/api/projects/{projectId}/tasks")
@@ -30,6 +33,11 @@ public class TaskController {
         return ResponseEntity.status(HttpStatus.CREATED).body(taskService.createTask(projectId, request));
     }
 
+    @PostMapping("/api/projects/{projectId}/tasks/batch")
+    public ResponseEntity<TaskBatchResponse> batch(@PathVariable Long projectId, @Valid @RequestBody TaskBatchRequest request) {
+        return ResponseEntity.ok(taskService.applyBatch(projectId, request));
+    }
+
     @PatchMapping("/api/tasks/{taskId}")
     public ResponseEntity<TaskResponse> update(@PathVariable Long taskId, @RequestBody UpdateTaskRequest request) {
         return ResponseEntity.ok(taskService.updateTask(taskId, request));
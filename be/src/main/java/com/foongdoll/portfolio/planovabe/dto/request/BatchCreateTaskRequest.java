@@ -0,0 +1,11 @@
+package com.foongdoll.portfolio.planovabe.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public record BatchCreateTaskRequest(
+    @NotBlank String tempId,
+    String parentTempId,
+    @NotNull @Valid CreateTaskRequest task
+) {}
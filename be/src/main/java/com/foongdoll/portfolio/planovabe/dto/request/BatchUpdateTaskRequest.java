@@ -0,0 +1,8 @@
+package com.foongdoll.portfolio.planovabe.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+
+public record BatchUpdateTaskRequest(
+    @NotNull Long id,
+    @NotNull UpdateTaskRequest changes
+) {}
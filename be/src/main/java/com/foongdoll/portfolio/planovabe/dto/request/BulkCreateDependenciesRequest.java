@@ -0,0 +1,10 @@
+package com.foongdoll.portfolio.planovabe.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record BulkCreateDependenciesRequest(
+    @NotEmpty @Size(max = 10000) List<@Valid CreateDependencyRequest> dependencies
+) {}
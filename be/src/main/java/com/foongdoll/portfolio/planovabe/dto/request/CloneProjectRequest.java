@@ -0,0 +1,8 @@
+package com.foongdoll.portfolio.planovabe.dto.request;
+
+import jakarta.validation.constraints.Size;
+
+public record CloneProjectRequest(
+    @Size(max = 255) String name,
+    Integer shiftDays
+) {}
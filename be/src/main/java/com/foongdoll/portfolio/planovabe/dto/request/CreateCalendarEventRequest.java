@@ -1,5 +1,6 @@
 package com.foongdoll.portfolio.planovabe.dto.request;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDate;
@@ -13,5 +14,6 @@ public record CreateCalendarEventRequest(
     @NotNull LocalDate endDate,
     LocalTime endTime,
     Boolean allDay,
-    String color
+    String color,
+    @Valid RecurrenceRequest recurrence
 ) {}
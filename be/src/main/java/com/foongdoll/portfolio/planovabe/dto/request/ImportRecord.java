@@ -0,0 +1,12 @@
+package com.foongdoll.portfolio.planovabe.dto.request;
+
+import tools.jackson.databind.JsonNode;
+
+/**
+ * One line of a project import, in the export's format: {@code type} is {@code project}, {@code task} or
+ * {@code dependency}. Task and dependency IDs are the source system's and are only used to link records.
+ */
+public record ImportRecord(
+    String type,
+    JsonNode data
+) {}
@@ -0,0 +1,14 @@
+package com.foongdoll.portfolio.planovabe.dto.request;
+
+import jakarta.validation.constraints.Positive;
+import java.time.LocalDate;
+import java.util.List;
+
+/** An empty frequency removes the recurrence; exceptions, when given, replace the current ones. */
+public record RecurrenceRequest(
+    String frequency,
+    @Positive Integer interval,
+    @Positive Integer count,
+    LocalDate until,
+    List<LocalDate> exceptions
+) {}
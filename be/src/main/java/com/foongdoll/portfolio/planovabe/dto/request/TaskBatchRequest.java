@@ -0,0 +1,12 @@
+package com.foongdoll.portfolio.planovabe.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record TaskBatchRequest(
+    @Size(max = 5000) List<@Valid BatchCreateTaskRequest> creates,
+    @Size(max = 5000) List<@Valid BatchUpdateTaskRequest> updates,
+    @Size(max = 5000) List<@NotNull Long> deletes
+) {}
@@ -1,5 +1,6 @@
 package com.foongdoll.portfolio.planovabe.dto.request;
 
+import jakarta.validation.Valid;
 import java.time.LocalDate;
 import java.time.LocalTime;
 
@@ -11,5 +12,6 @@ public record UpdateCalendarEventRequest(
     LocalDate endDate,
     LocalTime endTime,
     Boolean allDay,
-    String color
+    String color,
+    @Valid RecurrenceRequest recurrence
 ) {}
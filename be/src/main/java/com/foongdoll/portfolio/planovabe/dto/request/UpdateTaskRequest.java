@@ -12,5 +12,6 @@ public record UpdateTaskRequest(
     Integer sortOrder,
     Double positionX,
     Double positionY,
-    String color
+    String color,
+    Long version
 ) {}
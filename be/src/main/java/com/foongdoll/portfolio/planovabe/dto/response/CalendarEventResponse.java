@@ -16,7 +16,8 @@ public record CalendarEventResponse(
     Boolean allDay,
     String color,
     LocalDateTime createdAt,
-    LocalDateTime updatedAt
+    LocalDateTime updatedAt,
+    RecurrenceResponse recurrence
 ) {
     public static CalendarEventResponse from(CalendarEvent event) {
         return new CalendarEventResponse(
@@ -30,7 +31,14 @@ public record CalendarEventResponse(
             event.getAllDay(),
             event.getColor(),
             event.getCreatedAt(),
-            event.getUpdatedAt()
+            event.getUpdatedAt(),
+            RecurrenceResponse.from(event)
         );
     }
+
+    /** One occurrence of a series; the series' own dates stay in {@code recurrence}. */
+    public CalendarEventResponse occurrence(LocalDate occurrenceStart, LocalDate occurrenceEnd) {
+        return new CalendarEventResponse(id, title, description, occurrenceStart, startTime, occurrenceEnd, endTime,
+            allDay, color, createdAt, updatedAt, recurrence);
+    }
 }
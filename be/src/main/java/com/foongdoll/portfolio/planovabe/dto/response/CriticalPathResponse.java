@@ -0,0 +1,12 @@
+package com.foongdoll.portfolio.planovabe.dto.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record CriticalPathResponse(
+    Long projectId,
+    LocalDate projectStart,
+    LocalDate projectFinish,
+    List<TaskSlackResponse> tasks,
+    List<List<Long>> criticalPaths
+) {}
@@ -8,7 +8,8 @@ public record DependencyResponse(
     Long projectId,
     Long fromTaskId,
     Long toTaskId,
-    LocalDateTime createdAt
+    LocalDateTime createdAt,
+    Long version
 ) {
     public static DependencyResponse from(Dependency dep) {
         return new DependencyResponse(
@@ -16,7 +17,8 @@ public record DependencyResponse(
             dep.getProject().getId(),
             dep.getFromTask().getId(),
             dep.getToTask().getId(),
-            dep.getCreatedAt()
+            dep.getCreatedAt(),
+            dep.getVersion()
         );
     }
 }
@@ -0,0 +1,22 @@
+package com.foongdoll.portfolio.planovabe.dto.response;
+
+/**
+ * One line of a project export. {@code type} is {@code project}, {@code task} or {@code dependency}, and
+ * {@code data} is the matching response record.
+ */
+public record ExportRecord(
+    String type,
+    Object data
+) {
+    public static ExportRecord project(ProjectResponse project) {
+        return new ExportRecord("project", project);
+    }
+
+    public static ExportRecord task(TaskResponse task) {
+        return new ExportRecord("task", task);
+    }
+
+    public static ExportRecord dependency(DependencyResponse dependency) {
+        return new ExportRecord("dependency", dependency);
+    }
+}
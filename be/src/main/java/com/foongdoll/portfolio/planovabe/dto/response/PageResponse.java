@@ -0,0 +1,22 @@
+package com.foongdoll.portfolio.planovabe.dto.response;
+
+import java.util.List;
+import java.util.function.Function;
+
+/** One page of a keyset-paginated list; {@code nextCursor} is {@code null} on the last page. */
+public record PageResponse<T>(
+    List<T> items,
+    String nextCursor
+) {
+    /**
+     * Builds a page from rows fetched with a limit of {@code limit + 1}; the extra row only signals that another
+     * page follows and is dropped.
+     */
+    public static <T> PageResponse<T> of(List<T> rows, int limit, Function<T, String> cursorOf) {
+        if (rows.size() <= limit) {
+            return new PageResponse<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new PageResponse<>(List.copyOf(items), cursorOf.apply(items.get(limit - 1)));
+    }
+}
@@ -0,0 +1,12 @@
+package com.foongdoll.portfolio.planovabe.dto.response;
+
+import java.util.List;
+
+public record ProjectChangesResponse(
+    Long projectId,
+    long version,
+    List<TaskResponse> tasks,
+    List<DependencyResponse> dependencies,
+    List<Long> deletedTaskIds,
+    List<Long> deletedDependencyIds
+) {}
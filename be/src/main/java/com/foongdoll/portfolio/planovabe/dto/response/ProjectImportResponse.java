@@ -0,0 +1,7 @@
+package com.foongdoll.portfolio.planovabe.dto.response;
+
+public record ProjectImportResponse(
+    ProjectResponse project,
+    int tasks,
+    int dependencies
+) {}
@@ -0,0 +1,28 @@
+package com.foongdoll.portfolio.planovabe.dto.response;
+
+import com.foongdoll.portfolio.planovabe.service.RecalculationJob;
+import java.time.Instant;
+
+public record RecalculationJobResponse(
+    String id,
+    Long projectId,
+    String status,
+    Instant submittedAt,
+    Instant startedAt,
+    Instant finishedAt,
+    int changedTasks,
+    String error
+) {
+    public static RecalculationJobResponse from(RecalculationJob job) {
+        return new RecalculationJobResponse(
+            job.getId(),
+            job.getProjectId(),
+            job.getStatus().name(),
+            job.getSubmittedAt(),
+            job.getStartedAt(),
+            job.getFinishedAt(),
+            job.getChangedTasks(),
+            job.getError()
+        );
+    }
+}
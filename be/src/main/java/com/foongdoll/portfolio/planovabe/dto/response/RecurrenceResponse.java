@@ -0,0 +1,30 @@
+package com.foongdoll.portfolio.planovabe.dto.response;
+
+import com.foongdoll.portfolio.planovabe.entity.CalendarEvent;
+import java.time.LocalDate;
+import java.util.List;
+
+public record RecurrenceResponse(
+    String frequency,
+    int interval,
+    Integer count,
+    LocalDate until,
+    List<LocalDate> exceptions,
+    LocalDate seriesStartDate,
+    LocalDate seriesEndDate
+) {
+    public static RecurrenceResponse from(CalendarEvent event) {
+        if (event.getRecurrenceFrequency() == null) {
+            return null;
+        }
+        return new RecurrenceResponse(
+            event.getRecurrenceFrequency().name(),
+            event.getRecurrenceInterval() != null ? event.getRecurrenceInterval() : 1,
+            event.getRecurrenceCount(),
+            event.getRecurrenceUntil(),
+            event.getExceptionDates().stream().sorted().toList(),
+            event.getStartDate(),
+            event.getEndDate()
+        );
+    }
+}
@@ -0,0 +1,10 @@
+package com.foongdoll.portfolio.planovabe.dto.response;
+
+import java.util.List;
+import java.util.Map;
+
+public record TaskBatchResponse(
+    Map<String, TaskResponse> created,
+    List<TaskResponse> updated,
+    List<Long> deleted
+) {}
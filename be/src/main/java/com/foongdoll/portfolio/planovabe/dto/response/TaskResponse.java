@@ -1,6 +1,7 @@
 package com.foongdoll.portfolio.planovabe.dto.response;
 
 import com.foongdoll.portfolio.planovabe.entity.Task;
+import com.foongdoll.portfolio.planovabe.entity.TaskStatus;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -19,8 +20,18 @@ public record TaskResponse(
     Double positionY,
     String color,
     LocalDateTime createdAt,
-    LocalDateTime updatedAt
+    LocalDateTime updatedAt,
+    Long version
 ) {
+    /** Constructor expression target for JPQL projections, which select the enum rather than its name. */
+    public TaskResponse(Long id, Long projectId, Long parentId, String title, String description, TaskStatus status,
+                        LocalDate startDate, Integer durationDays, LocalDate endDate, Integer sortOrder,
+                        Double positionX, Double positionY, String color,
+                        LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+        this(id, projectId, parentId, title, description, status.name(), startDate, durationDays, endDate,
+            sortOrder, positionX, positionY, color, createdAt, updatedAt, version);
+    }
+
     public static TaskResponse from(Task task) {
         return new TaskResponse(
             task.getId(),
@@ -37,7 +48,8 @@ public record TaskResponse(
             task.getPositionY(),
             task.getColor(),
             task.getCreatedAt(),
-            task.getUpdatedAt()
+            task.getUpdatedAt(),
+            task.getVersion()
         );
     }
 }
@@ -0,0 +1,14 @@
+package com.foongdoll.portfolio.planovabe.dto.response;
+
+import java.time.LocalDate;
+
+public record TaskSlackResponse(
+    Long taskId,
+    LocalDate earlyStart,
+    LocalDate earlyFinish,
+    LocalDate lateStart,
+    LocalDate lateFinish,
+    long totalFloat,
+    long freeFloat,
+    boolean critical
+) {}
@@ -2,12 +2,16 @@ package com.foongdoll.portfolio.planovabe.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
 
 @Entity
-@Table(name = "calendar_events")
+@Table(name = "calendar_events", indexes = @Index(name = "idx_calendar_event_user_start_id",
+        columnList = "user_id, start_date, id"))
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
 @Builder
@@ -46,6 +50,28 @@ public class CalendarEvent {
     @Column(length = 20)
     private String color;
 
+    // A series when set: occurrences repeat every interval days, weeks or months, bounded by count and/or until
+    @Enumerated(EnumType.STRING)
+    @Column(name = "recurrence_frequency", length = 10)
+    private RecurrenceFrequency recurrenceFrequency;
+
+    @Column(name = "recurrence_interval")
+    private Integer recurrenceInterval;
+
+    @Column(name = "recurrence_count")
+    private Integer recurrenceCount;
+
+    @Column(name = "recurrence_until")
+    private LocalDate recurrenceUntil;
+
+    // Start dates of occurrences removed from the series
+    @ElementCollection
+    @BatchSize(size = 100)
+    @CollectionTable(name = "calendar_event_exceptions", joinColumns = @JoinColumn(name = "event_id"))
+    @Column(name = "occurrence_date", nullable = false)
+    @Builder.Default
+    private Set<LocalDate> exceptionDates = new HashSet<>();
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
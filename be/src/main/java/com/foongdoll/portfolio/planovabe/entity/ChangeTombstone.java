@@ -0,0 +1,39 @@
+package com.foongdoll.portfolio.planovabe.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/** Marks a task or dependency deleted at {@code changeVersion}, so delta sync can report deletions. */
+@Entity
+@Table(name = "change_tombstones",
+        indexes = @Index(name = "idx_tombstone_project_version", columnList = "project_id, change_version"))
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class ChangeTombstone {
+
+    public static final String TASK = "TASK";
+    public static final String DEPENDENCY = "DEPENDENCY";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "project_id", nullable = false)
+    private Project project;
+
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private String entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion;
+
+    @Column(name = "created_at", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP")
+    private LocalDateTime createdAt;
+}
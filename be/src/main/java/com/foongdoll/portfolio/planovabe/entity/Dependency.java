@@ -5,7 +5,7 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "dependencies")
+@Table(name = "dependencies", indexes = @Index(name = "idx_dep_project_version", columnList = "project_id, change_version"))
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
 @Builder
@@ -27,6 +27,13 @@ public class Dependency {
     @JoinColumn(name = "to_task_id", nullable = false)
     private Task toTask;
 
+    @Column(name = "change_version", nullable = false)
+    @Builder.Default
+    private Long changeVersion = 0L;
+
+    @Version
+    private Long version;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
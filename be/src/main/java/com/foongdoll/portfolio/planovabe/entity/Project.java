@@ -29,6 +29,16 @@ public class Project {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    // Only ever incremented in SQL by ChangeLogJdbcRepository, so JPA never writes a stale value back
+    @Column(name = "change_version", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long changeVersion;
+
+    // Tombstones at or below this version have been compacted away; also only ever written in SQL
+    @Column(name = "tombstone_horizon", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long tombstoneHorizon;
+
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<Task> tasks = new ArrayList<>();
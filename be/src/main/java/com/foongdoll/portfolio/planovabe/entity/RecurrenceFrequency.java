@@ -0,0 +1,5 @@
+package com.foongdoll.portfolio.planovabe.entity;
+
+public enum RecurrenceFrequency {
+    DAILY, WEEKLY, MONTHLY
+}
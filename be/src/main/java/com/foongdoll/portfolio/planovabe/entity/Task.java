@@ -8,7 +8,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+    @Index(name = "idx_task_project_version", columnList = "project_id, change_version"),
+    @Index(name = "idx_task_project_sort", columnList = "project_id, sort_order, id")
+})
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
 @Builder
@@ -63,6 +66,27 @@ public class Task {
     @Column(length = 20)
     private String color;
 
+    @Column(name = "change_version", nullable = false)
+    @Builder.Default
+    private Long changeVersion = 0L;
+
+    // Null until persisted, so Spring Data still treats built instances as new
+    @Version
+    private Long version;
+
+    // Task version of the last write to each field group; a stale patch still applies if its groups are untouched
+    @Column(name = "content_version", nullable = false)
+    @Builder.Default
+    private Long contentVersion = 0L;
+
+    @Column(name = "schedule_version", nullable = false)
+    @Builder.Default
+    private Long scheduleVersion = 0L;
+
+    @Column(name = "layout_version", nullable = false)
+    @Builder.Default
+    private Long layoutVersion = 0L;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
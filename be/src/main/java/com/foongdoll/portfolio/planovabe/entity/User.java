@@ -1,11 +1,13 @@
 package com.foongdoll.portfolio.planovabe.entity;
 
+import com.foongdoll.portfolio.planovabe.security.PrincipalCacheInvalidator;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(PrincipalCacheInvalidator.class)
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
 @Builder
@@ -0,0 +1,7 @@
+package com.foongdoll.portfolio.planovabe.exception;
+
+public class ChangesExpiredException extends RuntimeException {
+    public ChangesExpiredException(String message) {
+        super(message);
+    }
+}
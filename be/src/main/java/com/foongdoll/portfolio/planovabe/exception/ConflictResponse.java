@@ -0,0 +1,16 @@
+package com.foongdoll.portfolio.planovabe.exception;
+
+import java.time.LocalDateTime;
+
+/** A 409 body carrying the resource's current state, so the client can rebase its edit without refetching. */
+public record ConflictResponse<T>(
+    int status,
+    String error,
+    String message,
+    LocalDateTime timestamp,
+    T current
+) {
+    public static <T> ConflictResponse<T> of(String message, T current) {
+        return new ConflictResponse<>(409, "Conflict", message, LocalDateTime.now(), current);
+    }
+}
@@ -1,7 +1,12 @@
 package com.foongdoll.portfolio.planovabe.exception;
 
+import com.foongdoll.portfolio.planovabe.dto.response.TaskResponse;
+import com.foongdoll.portfolio.planovabe.entity.Task;
+import com.foongdoll.portfolio.planovabe.repository.TaskRepository;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -9,6 +14,12 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final TaskRepository taskRepository;
+
+    public GlobalExceptionHandler(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleNotFound(ResourceNotFoundException ex) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -27,12 +38,43 @@ public class GlobalExceptionHandler {
                 .body(ErrorResponse.of(409, "Conflict", ex.getMessage()));
     }
 
+    // The tombstones the client needs were compacted; it has to reload the snapshot
+    @ExceptionHandler(ChangesExpiredException.class)
+    public ResponseEntity<ErrorResponse> handleChangesExpired(ChangesExpiredException ex) {
+        return ResponseEntity.status(HttpStatus.GONE)
+                .body(ErrorResponse.of(410, "Gone", ex.getMessage()));
+    }
+
+    @ExceptionHandler(TaskConflictException.class)
+    public ResponseEntity<ConflictResponse<TaskResponse>> handleTaskConflict(TaskConflictException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ConflictResponse.of(ex.getMessage(), ex.getCurrent()));
+    }
+
+    // Another transaction committed the row first; its committed state is what the client should rebase onto
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ConflictResponse<TaskResponse>> handleOptimisticLock(ObjectOptimisticLockingFailureException ex) {
+        TaskResponse current = null;
+        if (Task.class.getName().equals(ex.getPersistentClassName()) && ex.getIdentifier() instanceof Long id) {
+            current = taskRepository.findResponseById(id).orElse(null);
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ConflictResponse.of("Modified concurrently, retry against the current version", current));
+    }
+
     @ExceptionHandler(InvalidRequestException.class)
     public ResponseEntity<ErrorResponse> handleInvalid(InvalidRequestException ex) {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(ErrorResponse.of(400, "Bad Request", ex.getMessage()));
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleUnavailable(ServiceUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ErrorResponse.of(503, "Service Unavailable", ex.getMessage()));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidation(MethodArgumentNotValidException ex) {
         String message = ex.getBindingResult().getFieldErrors().stream()
@@ -0,0 +1,17 @@
+package com.foongdoll.portfolio.planovabe.exception;
+
+import com.foongdoll.portfolio.planovabe.dto.response.TaskResponse;
+
+public class TaskConflictException extends RuntimeException {
+
+    private final TaskResponse current;
+
+    public TaskConflictException(String message, TaskResponse current) {
+        super(message);
+        this.current = current;
+    }
+
+    public TaskResponse getCurrent() {
+        return current;
+    }
+}
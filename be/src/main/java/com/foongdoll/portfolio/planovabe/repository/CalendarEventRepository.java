@@ -1,21 +1,27 @@
 package com.foongdoll.portfolio.planovabe.repository;
 
 import com.foongdoll.portfolio.planovabe.entity.CalendarEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
 
 public interface CalendarEventRepository extends JpaRepository<CalendarEvent, Long> {
 
+    // Range queries are answered by CalendarIntervalIndex, which expands recurring series itself
+    @EntityGraph(attributePaths = "exceptionDates")
     List<CalendarEvent> findByUserIdOrderByStartDateAsc(Long userId);
 
-    @Query("SELECT e FROM CalendarEvent e WHERE e.user.id = :userId AND e.startDate <= :endDate AND e.endDate >= :startDate ORDER BY e.startDate ASC")
-    List<CalendarEvent> findByUserIdAndDateRange(
-        @Param("userId") Long userId,
-        @Param("startDate") LocalDate startDate,
-        @Param("endDate") LocalDate endDate
-    );
+    // Keyset pages on (startDate, id); exceptions are batch-loaded, since a fetch join would defeat the limit
+    List<CalendarEvent> findByUserIdOrderByStartDateAscIdAsc(Long userId, Limit limit);
+
+    @Query("""
+            SELECT e FROM CalendarEvent e
+            WHERE e.user.id = :userId AND (e.startDate > :startDate OR (e.startDate = :startDate AND e.id > :id))
+            ORDER BY e.startDate, e.id
+            """)
+    List<CalendarEvent> findPageAfter(Long userId, LocalDate startDate, long id, Limit limit);
 }
@@ -0,0 +1,139 @@
+package com.foongdoll.portfolio.planovabe.repository;
+
+import com.foongdoll.portfolio.planovabe.entity.ChangeTombstone;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+@Repository
+public class ChangeLogJdbcRepository {
+
+    private static final int IN_CLAUSE_CHUNK = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ChangeLogJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Increments the project's change version and returns the new value. The row lock taken by the update is held
+     * until the transaction ends, so writers of one project commit in version order.
+     */
+    public long nextVersion(Long projectId) {
+        jdbcTemplate.update("UPDATE projects SET change_version = change_version + 1 WHERE id = ?", projectId);
+        return currentVersion(projectId);
+    }
+
+    /** Takes the project row lock without allocating a version. */
+    public void lockProject(Long projectId) {
+        jdbcTemplate.queryForList("SELECT id FROM projects WHERE id = ? FOR UPDATE", Long.class, projectId);
+    }
+
+    public long currentVersion(Long projectId) {
+        Long version = jdbcTemplate.queryForObject(
+                "SELECT change_version FROM projects WHERE id = ?", Long.class, projectId);
+        return version != null ? version : 0L;
+    }
+
+    public void insertTombstones(Long projectId, String entityType, Collection<Long> entityIds, long changeVersion) {
+        List<Object[]> rows = new ArrayList<>(entityIds.size());
+        for (Long entityId : entityIds) {
+            rows.add(new Object[]{projectId, entityType, entityId, changeVersion});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO change_tombstones (project_id, entity_type, entity_id, change_version) VALUES (?, ?, ?, ?)",
+                rows);
+    }
+
+    /** Tombstones every dependency touching the tasks, before the foreign keys cascade-delete them silently. */
+    public void insertDependencyTombstonesForTasks(Long projectId, Collection<Long> taskIds, long changeVersion) {
+        forEachChunk(taskIds, chunk -> {
+            String in = placeholders(chunk.size());
+            Object[] args = new Object[chunk.size() * 2 + 3];
+            args[0] = projectId;
+            args[1] = changeVersion;
+            args[2] = projectId;
+            for (int i = 0; i < chunk.size(); i++) {
+                args[3 + i] = chunk.get(i);
+                args[3 + chunk.size() + i] = chunk.get(i);
+            }
+            jdbcTemplate.update(
+                    "INSERT INTO change_tombstones (project_id, entity_type, entity_id, change_version)"
+                            + " SELECT ?, '" + ChangeTombstone.DEPENDENCY + "', id, ? FROM dependencies"
+                            + " WHERE project_id = ? AND (from_task_id IN (" + in + ") OR to_task_id IN (" + in + "))",
+                    args);
+        });
+    }
+
+    /** Stamps children of the tasks, whose parent_id the foreign key is about to clear. */
+    public void touchChildren(Collection<Long> parentTaskIds, long changeVersion) {
+        forEachChunk(parentTaskIds, chunk -> {
+            Object[] args = new Object[chunk.size() + 1];
+            args[0] = changeVersion;
+            for (int i = 0; i < chunk.size(); i++) {
+                args[i + 1] = chunk.get(i);
+            }
+            jdbcTemplate.update(
+                    "UPDATE tasks SET change_version = ?, layout_version = version + 1, version = version + 1"
+                            + " WHERE parent_id IN (" + placeholders(chunk.size()) + ")",
+                    args);
+        });
+    }
+
+    public long tombstoneHorizon(Long projectId) {
+        Long horizon = jdbcTemplate.queryForObject(
+                "SELECT tombstone_horizon FROM projects WHERE id = ?", Long.class, projectId);
+        return horizon != null ? horizon : 0L;
+    }
+
+    /** Per project, the latest version among tombstones written before the cutoff. */
+    public Map<Long, Long> findExpiredTombstoneVersions(LocalDateTime cutoff) {
+        Map<Long, Long> versions = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT project_id, MAX(change_version) AS version FROM change_tombstones WHERE created_at < ?"
+                        + " GROUP BY project_id",
+                rs -> {
+                    versions.put(rs.getLong("project_id"), rs.getLong("version"));
+                },
+                Timestamp.valueOf(cutoff));
+        return versions;
+    }
+
+    /**
+     * Raises the project's horizon to {@code version} and deletes the tombstones it covers. Versions are handed
+     * out in commit order, so no tombstone at or below the horizon can still be written later.
+     */
+    public int compactTombstones(Long projectId, long version) {
+        jdbcTemplate.update("UPDATE projects SET tombstone_horizon = GREATEST(tombstone_horizon, ?) WHERE id = ?",
+                version, projectId);
+        return jdbcTemplate.update("DELETE FROM change_tombstones WHERE project_id = ? AND change_version <= ?",
+                projectId, version);
+    }
+
+    public List<Long> findDeletedIds(Long projectId, String entityType, long sinceVersion) {
+        return jdbcTemplate.queryForList(
+                "SELECT entity_id FROM change_tombstones WHERE project_id = ? AND change_version > ? AND entity_type = ?",
+                Long.class, projectId, sinceVersion, entityType);
+    }
+
+    private static void forEachChunk(Collection<Long> ids, Consumer<List<Long>> action) {
+        List<Long> list = new ArrayList<>(ids);
+        for (int from = 0; from < list.size(); from += IN_CLAUSE_CHUNK) {
+            action.accept(list.subList(from, Math.min(from + IN_CLAUSE_CHUNK, list.size())));
+        }
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,96 @@
+package com.foongdoll.portfolio.planovabe.repository;
+
+import com.foongdoll.portfolio.planovabe.dto.response.DependencyResponse;
+import com.foongdoll.portfolio.planovabe.schedule.TaskGraph;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class DependencyJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DependencyJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Graph of the project's existing edges whose nodes are the edge endpoints plus {@code extraTaskIds},
+     * without loading the project's unconnected tasks.
+     */
+    public TaskGraph loadEdgeGraph(Long projectId, long[] extraTaskIds) {
+        List<long[]> edges = new ArrayList<>();
+        jdbcTemplate.query(
+                "SELECT from_task_id, to_task_id FROM dependencies WHERE project_id = ?",
+                rs -> {
+                    edges.add(new long[]{rs.getLong("from_task_id"), rs.getLong("to_task_id")});
+                },
+                projectId);
+
+        long[] ids = Arrays.copyOf(extraTaskIds, extraTaskIds.length + edges.size() * 2);
+        int count = extraTaskIds.length;
+        for (long[] edge : edges) {
+            ids[count++] = edge[0];
+            ids[count++] = edge[1];
+        }
+        ids = Arrays.stream(ids).sorted().distinct().toArray();
+
+        TaskGraph.Builder builder = TaskGraph.builder(ids.length, edges.size());
+        for (long id : ids) {
+            builder.addTask(id);
+        }
+        for (long[] edge : edges) {
+            builder.addEdge(edge[0], edge[1]);
+        }
+        return builder.build();
+    }
+
+    public List<DependencyResponse> insertAll(Long projectId, long[] fromTaskIds, long[] toTaskIds, long changeVersion) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp createdAt = Timestamp.valueOf(now);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(
+                        "INSERT INTO dependencies (project_id, from_task_id, to_task_id, change_version, created_at)"
+                                + " VALUES (?, ?, ?, ?, ?)",
+                        Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, projectId);
+                        ps.setLong(2, fromTaskIds[i]);
+                        ps.setLong(3, toTaskIds[i]);
+                        ps.setLong(4, changeVersion);
+                        ps.setTimestamp(5, createdAt);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return fromTaskIds.length;
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        List<DependencyResponse> created = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            Number id = (Number) keys.get(i).values().iterator().next();
+            created.add(new DependencyResponse(id.longValue(), projectId, fromTaskIds[i], toTaskIds[i], now, 0L));
+        }
+        return created;
+    }
+}
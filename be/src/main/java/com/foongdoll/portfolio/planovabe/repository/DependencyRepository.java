@@ -1,10 +1,47 @@
 package com.foongdoll.portfolio.planovabe.repository;
 
+import com.foongdoll.portfolio.planovabe.dto.response.DependencyResponse;
 import com.foongdoll.portfolio.planovabe.entity.Dependency;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface DependencyRepository extends JpaRepository<Dependency, Long> {
     List<Dependency> findByProjectId(Long projectId);
     boolean existsByFromTaskIdAndToTaskId(Long fromTaskId, Long toTaskId);
+
+    @Query("SELECT d.project.id FROM Dependency d WHERE d.id = :id")
+    Optional<Long> findProjectIdById(Long id);
+
+    @Query("""
+            SELECT new com.foongdoll.portfolio.planovabe.dto.response.DependencyResponse(
+                d.id, d.project.id, d.fromTask.id, d.toTask.id, d.createdAt, d.version)
+            FROM Dependency d
+            WHERE d.project.id = :projectId AND d.id > :afterId
+            ORDER BY d.id
+            """)
+    List<DependencyResponse> findResponsePage(Long projectId, long afterId, Limit limit);
+
+    @Query("""
+            SELECT new com.foongdoll.portfolio.planovabe.dto.response.DependencyResponse(
+                d.id, d.project.id, d.fromTask.id, d.toTask.id, d.createdAt, d.version)
+            FROM Dependency d
+            WHERE d.project.id = :projectId
+            """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<DependencyResponse> streamResponsesByProjectId(Long projectId);
+
+    @Query("""
+            SELECT new com.foongdoll.portfolio.planovabe.dto.response.DependencyResponse(
+                d.id, d.project.id, d.fromTask.id, d.toTask.id, d.createdAt, d.version)
+            FROM Dependency d
+            WHERE d.project.id = :projectId AND d.changeVersion > :sinceVersion
+            """)
+    List<DependencyResponse> findResponsesChangedSince(Long projectId, long sinceVersion);
 }
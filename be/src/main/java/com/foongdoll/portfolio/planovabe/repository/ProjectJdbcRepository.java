@@ -0,0 +1,102 @@
+package com.foongdoll.portfolio.planovabe.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+@Repository
+public class ProjectJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProjectJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Copies the project row, named {@code name} or "{source name} (copy)"; {@code null} if the source does not exist. */
+    public Long insertCopy(Long sourceId, String name) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        int rows = jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "INSERT INTO projects (name, description, created_at, updated_at)"
+                            + " SELECT COALESCE(?, LEFT(CONCAT(name, ' (copy)'), 255)), description, ?, ?"
+                            + " FROM projects WHERE id = ?",
+                    Statement.RETURN_GENERATED_KEYS);
+            ps.setString(1, name);
+            ps.setTimestamp(2, now);
+            ps.setTimestamp(3, now);
+            ps.setLong(4, sourceId);
+            return ps;
+        }, keyHolder);
+        return rows > 0 ? keyHolder.getKey().longValue() : null;
+    }
+
+    /**
+     * Copies the source project's tasks, parent links and dependencies into the clone with five set-based
+     * statements, shifting every date by {@code shiftDays}. The tasks are inserted in ID order by one statement,
+     * so their new IDs ascend in the same order even when concurrent inserts leave gaps; ranking both sides by ID
+     * then pairs every old ID with its new one in {@code task_id_remap}, which the parent and dependency copies
+     * join through. The remap also carries each task's old parent, so relinking never reads {@code tasks} while
+     * updating it. The caller must hold the source project's lock so its tasks cannot change in between.
+     */
+    public void copyTasks(Long sourceId, Long cloneId, int shiftDays, long changeVersion) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int copied = jdbcTemplate.update(
+                "INSERT INTO tasks (project_id, title, description, status, start_date, duration_days, end_date,"
+                        + " sort_order, position_x, position_y, color, change_version, created_at, updated_at)"
+                        + " SELECT ?, title, description, status, TIMESTAMPADD(DAY, ?, start_date), duration_days,"
+                        + " TIMESTAMPADD(DAY, ?, end_date), sort_order, position_x, position_y, color, ?, ?, ?"
+                        + " FROM tasks WHERE project_id = ? ORDER BY id",
+                cloneId, shiftDays, shiftDays, changeVersion, now, now, sourceId);
+        if (copied == 0) {
+            return;
+        }
+
+        jdbcTemplate.update(
+                "INSERT INTO task_id_remap (clone_id, old_id, new_id, old_parent_id)"
+                        + " SELECT ?, o.id, n.id, o.parent_id"
+                        + " FROM (SELECT id, parent_id, ROW_NUMBER() OVER (ORDER BY id) AS rn FROM tasks WHERE project_id = ?) o"
+                        + " JOIN (SELECT id, ROW_NUMBER() OVER (ORDER BY id) AS rn FROM tasks WHERE project_id = ?) n"
+                        + " ON n.rn = o.rn",
+                cloneId, sourceId, cloneId);
+
+        jdbcTemplate.update(
+                "UPDATE tasks SET parent_id = ("
+                        + " SELECT p.new_id FROM task_id_remap r"
+                        + " JOIN task_id_remap p ON p.clone_id = r.clone_id AND p.old_id = r.old_parent_id"
+                        + " WHERE r.clone_id = ? AND r.new_id = tasks.id)"
+                        + " WHERE project_id = ?",
+                cloneId, cloneId);
+
+        jdbcTemplate.update(
+                "INSERT INTO dependencies (project_id, from_task_id, to_task_id, change_version, created_at)"
+                        + " SELECT ?, f.new_id, t.new_id, ?, ?"
+                        + " FROM dependencies d"
+                        + " JOIN task_id_remap f ON f.clone_id = ? AND f.old_id = d.from_task_id"
+                        + " JOIN task_id_remap t ON t.clone_id = ? AND t.old_id = d.to_task_id"
+                        + " WHERE d.project_id = ?",
+                cloneId, changeVersion, now, cloneId, cloneId, sourceId);
+
+        jdbcTemplate.update("DELETE FROM task_id_remap WHERE clone_id = ?", cloneId);
+    }
+
+    /**
+     * Deletes the project with its dependencies, tasks and tombstones, referencing rows first, so it does not rely on
+     * the foreign keys cascading. Parent links are cleared before the tasks go, since a single DELETE may remove a
+     * parent before its children.
+     */
+    public void deleteById(Long projectId) {
+        jdbcTemplate.update("DELETE FROM dependencies WHERE project_id = ?", projectId);
+        jdbcTemplate.update("UPDATE tasks SET parent_id = NULL WHERE project_id = ? AND parent_id IS NOT NULL", projectId);
+        jdbcTemplate.update("DELETE FROM tasks WHERE project_id = ?", projectId);
+        jdbcTemplate.update("DELETE FROM change_tombstones WHERE project_id = ?", projectId);
+        jdbcTemplate.update("DELETE FROM projects WHERE id = ?", projectId);
+    }
+}
@@ -1,7 +1,12 @@
 package com.foongdoll.portfolio.planovabe.repository;
 
 import com.foongdoll.portfolio.planovabe.entity.Project;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
 public interface ProjectRepository extends JpaRepository<Project, Long> {
+
+    List<Project> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
 }
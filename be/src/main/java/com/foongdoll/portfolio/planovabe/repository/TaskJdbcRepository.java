@@ -0,0 +1,286 @@
+package com.foongdoll.portfolio.planovabe.repository;
+
+import com.foongdoll.portfolio.planovabe.entity.Task;
+import com.foongdoll.portfolio.planovabe.schedule.TaskGraph;
+import com.foongdoll.portfolio.planovabe.schedule.TaskSchedule;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Repository
+public class TaskJdbcRepository {
+
+    private static final int IN_CLAUSE_CHUNK = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public TaskSchedule loadSchedule(Long projectId) {
+        TaskSchedule.Builder builder = TaskSchedule.builder(0, 0);
+
+        jdbcTemplate.query(
+                "SELECT id, start_date, duration_days, end_date FROM tasks WHERE project_id = ? ORDER BY id",
+                rs -> {
+                    addScheduledTask(builder, rs);
+                },
+                projectId);
+
+        jdbcTemplate.query(
+                "SELECT from_task_id, to_task_id FROM dependencies WHERE project_id = ?",
+                rs -> {
+                    builder.addEdge(rs.getLong("from_task_id"), rs.getLong("to_task_id"));
+                },
+                projectId);
+
+        return builder.build();
+    }
+
+    public TaskGraph loadGraph(Long projectId) {
+        TaskGraph.Builder builder = TaskGraph.builder(0, 0);
+
+        jdbcTemplate.query(
+                "SELECT id FROM tasks WHERE project_id = ? ORDER BY id",
+                rs -> {
+                    builder.addTask(rs.getLong("id"));
+                },
+                projectId);
+
+        jdbcTemplate.query(
+                "SELECT from_task_id, to_task_id FROM dependencies WHERE project_id = ?",
+                rs -> {
+                    builder.addEdge(rs.getLong("from_task_id"), rs.getLong("to_task_id"));
+                },
+                projectId);
+
+        return builder.build();
+    }
+
+    /**
+     * Loads only the given tasks, their transitive successors and every edge into those successors,
+     * so that the successors' start dates can be recomputed from all of their predecessors. The roots are seeded
+     * in chunks; downstream sets of different chunks may overlap, so their edges are deduplicated.
+     */
+    public TaskSchedule loadDownstreamSchedule(Collection<Long> rootTaskIds) {
+        Set<EdgeKey> edges = new LinkedHashSet<>();
+        List<Long> taskIds = new ArrayList<>(rootTaskIds);
+
+        List<Long> roots = new ArrayList<>(rootTaskIds);
+        for (int from = 0; from < roots.size(); from += IN_CLAUSE_CHUNK) {
+            List<Long> chunk = roots.subList(from, Math.min(from + IN_CLAUSE_CHUNK, roots.size()));
+            String sql = "WITH RECURSIVE downstream (task_id) AS ("
+                    + " SELECT id FROM tasks WHERE id IN (" + placeholders(chunk.size()) + ")"
+                    + " UNION"
+                    + " SELECT d.to_task_id FROM dependencies d JOIN downstream ds ON d.from_task_id = ds.task_id"
+                    + ") SELECT d.from_task_id, d.to_task_id FROM dependencies d JOIN downstream ds ON d.to_task_id = ds.task_id";
+            jdbcTemplate.query(sql, rs -> {
+                long fromTaskId = rs.getLong("from_task_id");
+                long toTaskId = rs.getLong("to_task_id");
+                if (edges.add(new EdgeKey(fromTaskId, toTaskId))) {
+                    taskIds.add(fromTaskId);
+                    taskIds.add(toTaskId);
+                }
+            }, chunk.toArray());
+        }
+
+        long[] ids = taskIds.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+        TaskSchedule.Builder builder = TaskSchedule.builder(ids.length, edges.size());
+        for (int from = 0; from < ids.length; from += IN_CLAUSE_CHUNK) {
+            Object[] chunk = Arrays.stream(ids, from, Math.min(from + IN_CLAUSE_CHUNK, ids.length)).boxed().toArray();
+            jdbcTemplate.query(
+                    "SELECT id, start_date, duration_days, end_date FROM tasks WHERE id IN (" + placeholders(chunk.length) + ") ORDER BY id",
+                    rs -> {
+                        addScheduledTask(builder, rs);
+                    },
+                    chunk);
+        }
+        for (EdgeKey edge : edges) {
+            builder.addEdge(edge.fromTaskId(), edge.toTaskId());
+        }
+        return builder.build();
+    }
+
+    /** The subset of {@code taskIds} that exist and belong to the project. */
+    public Set<Long> findIdsInProject(Long projectId, Collection<Long> taskIds) {
+        Set<Long> found = new HashSet<>();
+        List<Long> ids = new ArrayList<>(taskIds);
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK, ids.size()));
+            Object[] args = new Object[chunk.size() + 1];
+            args[0] = projectId;
+            for (int i = 0; i < chunk.size(); i++) {
+                args[i + 1] = chunk.get(i);
+            }
+            jdbcTemplate.query(
+                    "SELECT id FROM tasks WHERE project_id = ? AND id IN (" + placeholders(chunk.size()) + ")",
+                    rs -> {
+                        found.add(rs.getLong("id"));
+                    },
+                    args);
+        }
+        return found;
+    }
+
+    /**
+     * Writes the moved tasks' dates and bumps their row and schedule versions, so edits based on the old dates fail
+     * their optimistic check. Group versions are assigned before {@code version}, which MySQL evaluates left to right.
+     */
+    public void updateDates(TaskSchedule schedule, int[] changed, long changeVersion) {
+        if (changed.length == 0) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+                "UPDATE tasks SET start_date = ?, end_date = ?, updated_at = ?, change_version = ?,"
+                        + " schedule_version = version + 1, version = version + 1 WHERE id = ?",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        int index = changed[i];
+                        ps.setDate(1, toSqlDate(schedule.startDate(index)));
+                        ps.setDate(2, toSqlDate(schedule.endDate(index)));
+                        ps.setTimestamp(3, now);
+                        ps.setLong(4, changeVersion);
+                        ps.setLong(5, schedule.graph().taskId(index));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return changed.length;
+                    }
+                });
+    }
+
+    /**
+     * Inserts the tasks in one JDBC batch and assigns the generated IDs and timestamps to the given instances.
+     * Parents must already have an ID; parents created in the same batch are linked with {@link #updateParents}.
+     */
+    public void insertAll(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(
+                        "INSERT INTO tasks (project_id, parent_id, title, description, status, start_date, duration_days,"
+                                + " end_date, sort_order, position_x, position_y, color, change_version, created_at, updated_at)"
+                                + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                        Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Task task = tasks.get(i);
+                        Task parent = task.getParent();
+                        ps.setLong(1, task.getProject().getId());
+                        ps.setObject(2, parent != null ? parent.getId() : null, Types.BIGINT);
+                        ps.setString(3, task.getTitle());
+                        ps.setString(4, task.getDescription());
+                        ps.setString(5, task.getStatus().name());
+                        ps.setDate(6, toSqlDate(task.getStartDate()));
+                        ps.setObject(7, task.getDurationDays(), Types.INTEGER);
+                        ps.setDate(8, toSqlDate(task.getEndDate()));
+                        ps.setInt(9, task.getSortOrder());
+                        ps.setObject(10, task.getPositionX(), Types.DOUBLE);
+                        ps.setObject(11, task.getPositionY(), Types.DOUBLE);
+                        ps.setString(12, task.getColor());
+                        ps.setLong(13, task.getChangeVersion());
+                        ps.setTimestamp(14, timestamp);
+                        ps.setTimestamp(15, timestamp);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return tasks.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            task.setId(((Number) keys.get(i).values().iterator().next()).longValue());
+            task.setCreatedAt(now);
+            task.setUpdatedAt(now);
+            task.setVersion(0L);
+        }
+    }
+
+    public void updateParents(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+                "UPDATE tasks SET parent_id = ?, change_version = ?, layout_version = version + 1, version = version + 1"
+                        + " WHERE id = ?",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Task task = tasks.get(i);
+                        ps.setLong(1, task.getParent().getId());
+                        ps.setLong(2, task.getChangeVersion());
+                        ps.setLong(3, task.getId());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return tasks.size();
+                    }
+                });
+        for (Task task : tasks) {
+            task.setVersion(task.getVersion() + 1);
+            task.setLayoutVersion(task.getVersion());
+        }
+    }
+
+    private static void addScheduledTask(TaskSchedule.Builder builder, ResultSet rs) throws SQLException {
+        int duration = rs.getInt("duration_days");
+        if (rs.wasNull()) {
+            duration = TaskSchedule.NO_DURATION;
+        }
+        builder.addTask(
+                rs.getLong("id"),
+                toEpochDay(rs.getDate("start_date")),
+                duration,
+                toEpochDay(rs.getDate("end_date")));
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static long toEpochDay(Date date) {
+        return date != null ? date.toLocalDate().toEpochDay() : TaskSchedule.NO_DATE;
+    }
+
+    private static Date toSqlDate(LocalDate date) {
+        return date != null ? Date.valueOf(date) : null;
+    }
+
+    private record EdgeKey(long fromTaskId, long toTaskId) {}
+}
@@ -1,10 +1,74 @@
 package com.foongdoll.portfolio.planovabe.repository;
 
+import com.foongdoll.portfolio.planovabe.dto.response.TaskResponse;
 import com.foongdoll.portfolio.planovabe.entity.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByProjectIdOrderBySortOrder(Long projectId);
     List<Task> findByProjectId(Long projectId);
+
+    @Query("SELECT t.project.id FROM Task t WHERE t.id = :id")
+    Optional<Long> findProjectIdById(Long id);
+
+    // Keyset page on (sortOrder, id); the first page passes Integer.MIN_VALUE and 0. Association IDs are read from
+    // the foreign key columns, so no proxies are created or initialized
+    @Query("""
+            SELECT new com.foongdoll.portfolio.planovabe.dto.response.TaskResponse(
+                t.id, t.project.id, t.parent.id, t.title, t.description, t.status, t.startDate, t.durationDays,
+                t.endDate, t.sortOrder, t.positionX, t.positionY, t.color, t.createdAt, t.updatedAt, t.version)
+            FROM Task t
+            WHERE t.project.id = :projectId
+                AND (t.sortOrder > :sortOrder OR (t.sortOrder = :sortOrder AND t.id > :id))
+            ORDER BY t.sortOrder, t.id
+            """)
+    List<TaskResponse> findResponsePage(Long projectId, int sortOrder, long id, Limit limit);
+
+    @Query("""
+            SELECT new com.foongdoll.portfolio.planovabe.dto.response.TaskResponse(
+                t.id, t.project.id, t.parent.id, t.title, t.description, t.status, t.startDate, t.durationDays,
+                t.endDate, t.sortOrder, t.positionX, t.positionY, t.color, t.createdAt, t.updatedAt, t.version)
+            FROM Task t
+            WHERE t.id = :id
+            """)
+    Optional<TaskResponse> findResponseById(Long id);
+
+    @Query("""
+            SELECT new com.foongdoll.portfolio.planovabe.dto.response.TaskResponse(
+                t.id, t.project.id, t.parent.id, t.title, t.description, t.status, t.startDate, t.durationDays,
+                t.endDate, t.sortOrder, t.positionX, t.positionY, t.color, t.createdAt, t.updatedAt, t.version)
+            FROM Task t
+            WHERE t.id IN :ids
+            """)
+    List<TaskResponse> findResponsesByIdIn(Collection<Long> ids);
+
+    @Query("""
+            SELECT new com.foongdoll.portfolio.planovabe.dto.response.TaskResponse(
+                t.id, t.project.id, t.parent.id, t.title, t.description, t.status, t.startDate, t.durationDays,
+                t.endDate, t.sortOrder, t.positionX, t.positionY, t.color, t.createdAt, t.updatedAt, t.version)
+            FROM Task t
+            WHERE t.project.id = :projectId
+            ORDER BY t.sortOrder
+            """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<TaskResponse> streamResponsesByProjectId(Long projectId);
+
+    @Query("""
+            SELECT new com.foongdoll.portfolio.planovabe.dto.response.TaskResponse(
+                t.id, t.project.id, t.parent.id, t.title, t.description, t.status, t.startDate, t.durationDays,
+                t.endDate, t.sortOrder, t.positionX, t.positionY, t.color, t.createdAt, t.updatedAt, t.version)
+            FROM Task t
+            WHERE t.project.id = :projectId AND t.changeVersion > :sinceVersion
+            ORDER BY t.sortOrder
+            """)
+    List<TaskResponse> findResponsesChangedSince(Long projectId, long sinceVersion);
 }
@@ -0,0 +1,223 @@
+package com.foongdoll.portfolio.planovabe.schedule;
+
+import com.foongdoll.portfolio.planovabe.exception.CycleDetectedException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Critical path method over a {@link TaskSchedule}: one forward pass for early dates and one backward pass for
+ * late dates, both over the same topological order. Day values are epoch days with exclusive finishes, so a task
+ * occupies {@code [earlyStart, earlyFinish)} and a successor may start on its predecessor's finish day.
+ */
+public final class CriticalPathAnalysis {
+
+    public static final int MAX_CRITICAL_PATHS = 16;
+
+    private final TaskGraph graph;
+    private final long[] earlyStart;
+    private final long[] earlyFinish;
+    private final long[] lateStart;
+    private final long[] lateFinish;
+    private final long[] freeFloat;
+    private final long projectStart;
+    private final long projectFinish;
+    private final List<long[]> criticalPaths;
+
+    private CriticalPathAnalysis(TaskGraph graph, long[] earlyStart, long[] earlyFinish, long[] lateStart,
+                                 long[] lateFinish, long[] freeFloat, long projectStart, long projectFinish,
+                                 List<long[]> criticalPaths) {
+        this.graph = graph;
+        this.earlyStart = earlyStart;
+        this.earlyFinish = earlyFinish;
+        this.lateStart = lateStart;
+        this.lateFinish = lateFinish;
+        this.freeFloat = freeFloat;
+        this.projectStart = projectStart;
+        this.projectFinish = projectFinish;
+        this.criticalPaths = criticalPaths;
+    }
+
+    /**
+     * @param defaultStartDay start day for tasks without predecessors and without a start date,
+     *                        used only when no such task has a start date either
+     */
+    public static CriticalPathAnalysis analyze(TaskSchedule schedule, long defaultStartDay) {
+        TaskGraph graph = schedule.graph();
+        int n = graph.size();
+        int[] order = graph.topologicalOrder();
+        if (order == null) {
+            throw new CycleDetectedException("Cycle detected in project dependencies");
+        }
+
+        long[] duration = new long[n];
+        long anchor = Long.MAX_VALUE;
+        for (int v = 0; v < n; v++) {
+            duration[v] = durationOf(schedule, v);
+            if (graph.predOffsets[v] == graph.predOffsets[v + 1] && schedule.startDays[v] != TaskSchedule.NO_DATE) {
+                anchor = Math.min(anchor, schedule.startDays[v]);
+            }
+        }
+        if (anchor == Long.MAX_VALUE) {
+            anchor = defaultStartDay;
+        }
+
+        long[] es = new long[n];
+        long[] ef = new long[n];
+        long finish = anchor;
+        for (int v : order) {
+            long start;
+            int predStart = graph.predOffsets[v];
+            int predEnd = graph.predOffsets[v + 1];
+            if (predStart == predEnd) {
+                start = schedule.startDays[v] != TaskSchedule.NO_DATE ? schedule.startDays[v] : anchor;
+            } else {
+                start = Long.MIN_VALUE;
+                for (int e = predStart; e < predEnd; e++) {
+                    start = Math.max(start, ef[graph.predTargets[e]]);
+                }
+            }
+            es[v] = start;
+            ef[v] = start + duration[v];
+            finish = Math.max(finish, ef[v]);
+        }
+
+        long[] ls = new long[n];
+        long[] lf = new long[n];
+        long[] ff = new long[n];
+        for (int i = n - 1; i >= 0; i--) {
+            int v = order[i];
+            long late = finish;
+            long earliestSuccessor = finish;
+            for (int e = graph.succOffsets[v], stop = graph.succOffsets[v + 1]; e < stop; e++) {
+                int s = graph.succTargets[e];
+                late = Math.min(late, ls[s]);
+                earliestSuccessor = Math.min(earliestSuccessor, es[s]);
+            }
+            lf[v] = late;
+            ls[v] = late - duration[v];
+            ff[v] = earliestSuccessor - ef[v];
+        }
+
+        List<long[]> paths = criticalPaths(graph, order, es, ef, ls);
+        return new CriticalPathAnalysis(graph, es, ef, ls, lf, ff, anchor, finish, paths);
+    }
+
+    public TaskGraph graph() {
+        return graph;
+    }
+
+    public long earlyStart(int index) {
+        return earlyStart[index];
+    }
+
+    public long earlyFinish(int index) {
+        return earlyFinish[index];
+    }
+
+    public long lateStart(int index) {
+        return lateStart[index];
+    }
+
+    public long lateFinish(int index) {
+        return lateFinish[index];
+    }
+
+    public long totalFloat(int index) {
+        return lateStart[index] - earlyStart[index];
+    }
+
+    public long freeFloat(int index) {
+        return freeFloat[index];
+    }
+
+    public boolean isCritical(int index) {
+        return lateStart[index] == earlyStart[index];
+    }
+
+    public long projectStart() {
+        return projectStart;
+    }
+
+    public long projectFinish() {
+        return projectFinish;
+    }
+
+    /** Critical paths as task IDs from first to last task, at most {@link #MAX_CRITICAL_PATHS}. */
+    public List<long[]> criticalPaths() {
+        return criticalPaths;
+    }
+
+    private static long durationOf(TaskSchedule schedule, int v) {
+        int duration = schedule.durations[v];
+        if (duration != TaskSchedule.NO_DURATION) {
+            return Math.max(duration, 0);
+        }
+        if (schedule.startDays[v] != TaskSchedule.NO_DATE && schedule.endDays[v] != TaskSchedule.NO_DATE) {
+            return Math.max(schedule.endDays[v] - schedule.startDays[v] + 1, 0);
+        }
+        return 0;
+    }
+
+    // Walks critical tasks along tight edges (successor starts exactly when the predecessor finishes)
+    // with an explicit stack, since chains can be tens of thousands of tasks long.
+    private static List<long[]> criticalPaths(TaskGraph graph, int[] order, long[] es, long[] ef, long[] ls) {
+        int n = graph.size();
+        boolean[] hasCriticalPred = new boolean[n];
+        boolean[] hasCriticalSucc = new boolean[n];
+        for (int v = 0; v < n; v++) {
+            for (int e = graph.succOffsets[v], stop = graph.succOffsets[v + 1]; e < stop; e++) {
+                if (isTight(v, graph.succTargets[e], es, ef, ls)) {
+                    hasCriticalSucc[v] = true;
+                    hasCriticalPred[graph.succTargets[e]] = true;
+                }
+            }
+        }
+
+        List<long[]> paths = new ArrayList<>();
+        int[] path = new int[n];
+        int[] cursor = new int[n];
+        for (int root : order) {
+            if (paths.size() >= MAX_CRITICAL_PATHS) {
+                break;
+            }
+            if (ls[root] != es[root] || hasCriticalPred[root]) {
+                continue;
+            }
+            int depth = 0;
+            path[0] = root;
+            cursor[0] = graph.succOffsets[root];
+            while (depth >= 0 && paths.size() < MAX_CRITICAL_PATHS) {
+                int v = path[depth];
+                if (!hasCriticalSucc[v]) {
+                    long[] ids = new long[depth + 1];
+                    for (int i = 0; i <= depth; i++) {
+                        ids[i] = graph.taskId(path[i]);
+                    }
+                    paths.add(ids);
+                    depth--;
+                    continue;
+                }
+                int next = -1;
+                while (next < 0 && cursor[depth] < graph.succOffsets[v + 1]) {
+                    int s = graph.succTargets[cursor[depth]++];
+                    if (isTight(v, s, es, ef, ls)) {
+                        next = s;
+                    }
+                }
+                if (next < 0) {
+                    depth--;
+                } else {
+                    depth++;
+                    path[depth] = next;
+                    cursor[depth] = graph.succOffsets[next];
+                }
+            }
+        }
+        return paths;
+    }
+
+    private static boolean isTight(int from, int to, long[] es, long[] ef, long[] ls) {
+        return ls[from] == es[from] && ls[to] == es[to] && es[to] == ef[from];
+    }
+}
@@ -0,0 +1,285 @@
+package com.foongdoll.portfolio.planovabe.schedule;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Topological order of a mutable DAG maintained with the Pearce-Kelly algorithm.
+ * An edge {@code x -> y} with {@code ord(x) < ord(y)} is accepted without any search; otherwise only the
+ * affected region {@code [ord(y), ord(x)]} is searched and reordered, which is also where a cycle would show up.
+ * Not thread-safe.
+ */
+public final class DynamicTopologicalOrder {
+
+    private final Map<Long, Integer> indexById = new HashMap<>();
+    private int[] ord;
+    private int[][] out;
+    private int[] outSize;
+    private int[][] in;
+    private int[] inSize;
+    private int nodeCount;
+    private int nextOrd;
+    private int[] freeSlots = new int[0];
+    private int freeCount;
+
+    private int[] visitStamp;
+    private int stamp;
+    private int[] stack = new int[16];
+    private int[] forward = new int[16];
+    private int forwardCount;
+    private int[] backward = new int[16];
+    private int backwardCount;
+    private int lastVisited;
+
+    public DynamicTopologicalOrder(int expectedNodes) {
+        int capacity = Math.max(expectedNodes, 16);
+        ord = new int[capacity];
+        out = new int[capacity][];
+        outSize = new int[capacity];
+        in = new int[capacity][];
+        inSize = new int[capacity];
+        visitStamp = new int[capacity];
+    }
+
+    /** Seeds the order from a static graph, in its topological order. */
+    public static DynamicTopologicalOrder of(TaskGraph graph) {
+        int[] order = graph.topologicalOrder();
+        if (order == null) {
+            throw new IllegalArgumentException("Graph has a cycle");
+        }
+        DynamicTopologicalOrder result = new DynamicTopologicalOrder(graph.size());
+        for (int v : order) {
+            result.addTask(graph.taskId(v));
+        }
+        for (int v = 0; v < graph.size(); v++) {
+            int from = result.indexById.get(graph.taskId(v));
+            for (int e = graph.successorStart(v); e < graph.successorEnd(v); e++) {
+                result.link(from, result.indexById.get(graph.taskId(graph.successorAt(e))));
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return nodeCount;
+    }
+
+    /** Number of nodes visited by the most recent cycle check or insert. */
+    public int lastVisited() {
+        return lastVisited;
+    }
+
+    public void addTask(long taskId) {
+        slotOf(taskId);
+    }
+
+    public void removeTask(long taskId) {
+        Integer slot = indexById.remove(taskId);
+        if (slot == null) {
+            return;
+        }
+        int v = slot;
+        for (int i = 0; i < outSize[v]; i++) {
+            removeFrom(in, inSize, out[v][i], v);
+        }
+        for (int i = 0; i < inSize[v]; i++) {
+            removeFrom(out, outSize, in[v][i], v);
+        }
+        outSize[v] = 0;
+        inSize[v] = 0;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, Math.max(16, freeCount * 2));
+        }
+        freeSlots[freeCount++] = v;
+        nodeCount--;
+    }
+
+    public boolean wouldCreateCycle(long fromTaskId, long toTaskId) {
+        lastVisited = 0;
+        if (fromTaskId == toTaskId) {
+            return true;
+        }
+        Integer x = indexById.get(fromTaskId);
+        Integer y = indexById.get(toTaskId);
+        if (x == null || y == null || ord[x] < ord[y]) {
+            return false;
+        }
+        return !searchForward(y, x, ord[x]);
+    }
+
+    /**
+     * Inserts {@code from -> to}, reordering the affected region if needed.
+     *
+     * @return {@code false} without modifying anything if the edge would close a cycle
+     */
+    public boolean addEdge(long fromTaskId, long toTaskId) {
+        lastVisited = 0;
+        if (fromTaskId == toTaskId) {
+            return false;
+        }
+        int x = slotOf(fromTaskId);
+        int y = slotOf(toTaskId);
+        if (contains(out[x], outSize[x], y)) {
+            return true;
+        }
+        int lower = ord[y];
+        int upper = ord[x];
+        if (lower < upper) {
+            if (!searchForward(y, x, upper)) {
+                return false;
+            }
+            searchBackward(x, lower);
+            reorder();
+        }
+        link(x, y);
+        return true;
+    }
+
+    public void removeEdge(long fromTaskId, long toTaskId) {
+        Integer x = indexById.get(fromTaskId);
+        Integer y = indexById.get(toTaskId);
+        if (x == null || y == null) {
+            return;
+        }
+        removeFrom(out, outSize, x, y);
+        removeFrom(in, inSize, y, x);
+    }
+
+    private int slotOf(long taskId) {
+        Integer existing = indexById.get(taskId);
+        if (existing != null) {
+            return existing;
+        }
+        int v;
+        if (freeCount > 0) {
+            v = freeSlots[--freeCount];
+        } else {
+            v = nodeCount;
+            if (v == ord.length) {
+                grow(v * 2);
+            }
+        }
+        ord[v] = nextOrd++;
+        indexById.put(taskId, v);
+        nodeCount++;
+        return v;
+    }
+
+    // Collects every node reachable from start with ord <= upper; false if target is among them
+    private boolean searchForward(int start, int target, int upper) {
+        stamp++;
+        forwardCount = 0;
+        int top = 0;
+        stack[top++] = start;
+        visitStamp[start] = stamp;
+        while (top > 0) {
+            int v = stack[--top];
+            lastVisited++;
+            if (v == target) {
+                return false;
+            }
+            forward = push(forward, forwardCount++, v);
+            for (int i = 0; i < outSize[v]; i++) {
+                int w = out[v][i];
+                if (visitStamp[w] != stamp && ord[w] <= upper) {
+                    visitStamp[w] = stamp;
+                    stack = push(stack, top++, w);
+                }
+            }
+        }
+        return true;
+    }
+
+    // Collects every node that reaches start with ord >= lower
+    private void searchBackward(int start, int lower) {
+        stamp++;
+        backwardCount = 0;
+        int top = 0;
+        stack[top++] = start;
+        visitStamp[start] = stamp;
+        while (top > 0) {
+            int v = stack[--top];
+            lastVisited++;
+            backward = push(backward, backwardCount++, v);
+            for (int i = 0; i < inSize[v]; i++) {
+                int w = in[v][i];
+                if (visitStamp[w] != stamp && ord[w] >= lower) {
+                    visitStamp[w] = stamp;
+                    stack = push(stack, top++, w);
+                }
+            }
+        }
+    }
+
+    // Backward set keeps its relative order and moves in front of the forward set, reusing the same ord slots
+    private void reorder() {
+        long[] backwardByOrd = sortedByOrd(backward, backwardCount);
+        long[] forwardByOrd = sortedByOrd(forward, forwardCount);
+        int[] pool = new int[backwardCount + forwardCount];
+        for (int i = 0; i < backwardCount; i++) {
+            pool[i] = (int) (backwardByOrd[i] >>> 32);
+        }
+        for (int i = 0; i < forwardCount; i++) {
+            pool[backwardCount + i] = (int) (forwardByOrd[i] >>> 32);
+        }
+        Arrays.sort(pool);
+        int p = 0;
+        for (long packed : backwardByOrd) {
+            ord[(int) packed] = pool[p++];
+        }
+        for (long packed : forwardByOrd) {
+            ord[(int) packed] = pool[p++];
+        }
+    }
+
+    private long[] sortedByOrd(int[] nodes, int count) {
+        long[] packed = new long[count];
+        for (int i = 0; i < count; i++) {
+            packed[i] = ((long) ord[nodes[i]] << 32) | nodes[i];
+        }
+        Arrays.sort(packed);
+        return packed;
+    }
+
+    private void link(int x, int y) {
+        out[x] = push(out[x] != null ? out[x] : new int[2], outSize[x]++, y);
+        in[y] = push(in[y] != null ? in[y] : new int[2], inSize[y]++, x);
+    }
+
+    private void grow(int capacity) {
+        ord = Arrays.copyOf(ord, capacity);
+        out = Arrays.copyOf(out, capacity);
+        outSize = Arrays.copyOf(outSize, capacity);
+        in = Arrays.copyOf(in, capacity);
+        inSize = Arrays.copyOf(inSize, capacity);
+        visitStamp = Arrays.copyOf(visitStamp, capacity);
+    }
+
+    private static int[] push(int[] array, int index, int value) {
+        if (index == array.length) {
+            array = Arrays.copyOf(array, Math.max(2, index * 2));
+        }
+        array[index] = value;
+        return array;
+    }
+
+    private static boolean contains(int[] array, int size, int value) {
+        for (int i = 0; i < size; i++) {
+            if (array[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void removeFrom(int[][] lists, int[] sizes, int owner, int value) {
+        int[] list = lists[owner];
+        for (int i = 0; i < sizes[owner]; i++) {
+            if (list[i] == value) {
+                list[i] = list[--sizes[owner]];
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.foongdoll.portfolio.planovabe.schedule;
+
+import com.foongdoll.portfolio.planovabe.exception.CycleDetectedException;
+
+import java.util.Arrays;
+
+/**
+ * Forward date propagation over a {@link TaskSchedule}. A task with predecessors starts the day after the
+ * latest predecessor end date, and its end date is derived from start date and duration.
+ */
+public final class ScheduleEngine {
+
+    private ScheduleEngine() {
+    }
+
+    /**
+     * Recalculates every task in topological order.
+     *
+     * @return dense indices of tasks whose start or end date changed
+     */
+    public static int[] recalculate(TaskSchedule schedule) {
+        int[] order = schedule.graph().topologicalOrder();
+        if (order == null) {
+            throw new CycleDetectedException("Cycle detected in project dependencies");
+        }
+        return propagate(schedule, order, null);
+    }
+
+    /**
+     * Propagates a change of the given tasks to their transitive successors only. With {@code recomputeRoots}
+     * the roots themselves are recomputed from their predecessors, otherwise their current dates are kept and
+     * only their successors are revisited.
+     *
+     * @return dense indices of tasks whose start or end date changed
+     */
+    public static int[] propagateDownstream(TaskSchedule schedule, long[] rootTaskIds, boolean recomputeRoots) {
+        TaskGraph graph = schedule.graph();
+        int[] order = graph.topologicalOrder();
+        if (order == null) {
+            throw new CycleDetectedException("Cycle detected in project dependencies");
+        }
+
+        boolean[] dirty = new boolean[graph.size()];
+        for (long taskId : rootTaskIds) {
+            int root = graph.indexOf(taskId);
+            if (root < 0) {
+                continue;
+            }
+            if (recomputeRoots) {
+                dirty[root] = true;
+            } else {
+                for (int e = graph.succOffsets[root], stop = graph.succOffsets[root + 1]; e < stop; e++) {
+                    dirty[graph.succTargets[e]] = true;
+                }
+            }
+        }
+        return propagate(schedule, order, dirty);
+    }
+
+    /**
+     * Runs the forward pass over {@code order}. When {@code dirty} is given, only tasks flagged dirty are
+     * recomputed and a task's successors are flagged only if its end date actually moved.
+     *
+     * @return dense indices of tasks whose start or end date changed
+     */
+    public static int[] propagate(TaskSchedule schedule, int[] order, boolean[] dirty) {
+        TaskGraph graph = schedule.graph();
+        long[] start = schedule.startDays;
+        int[] duration = schedule.durations;
+        long[] end = schedule.endDays;
+
+        int[] changed = new int[16];
+        int changedCount = 0;
+
+        for (int v : order) {
+            if (dirty != null && !dirty[v]) {
+                continue;
+            }
+
+            long newStart = start[v];
+            int predStart = graph.predOffsets[v];
+            int predEnd = graph.predOffsets[v + 1];
+            if (predStart < predEnd) {
+                long maxNext = TaskSchedule.NO_DATE;
+                for (int e = predStart; e < predEnd; e++) {
+                    long predEndDay = end[graph.predTargets[e]];
+                    if (predEndDay != TaskSchedule.NO_DATE && predEndDay + 1 > maxNext) {
+                        maxNext = predEndDay + 1;
+                    }
+                }
+                if (maxNext != TaskSchedule.NO_DATE) {
+                    newStart = maxNext;
+                }
+            }
+
+            long newEnd = end[v];
+            if (newStart != TaskSchedule.NO_DATE && duration[v] != TaskSchedule.NO_DURATION) {
+                newEnd = newStart + duration[v] - 1;
+            }
+
+            boolean endMoved = newEnd != end[v];
+            if (newStart != start[v] || endMoved) {
+                start[v] = newStart;
+                end[v] = newEnd;
+                if (changedCount == changed.length) {
+                    changed = Arrays.copyOf(changed, changedCount * 2);
+                }
+                changed[changedCount++] = v;
+            }
+
+            if (dirty != null && endMoved) {
+                for (int e = graph.succOffsets[v], stop = graph.succOffsets[v + 1]; e < stop; e++) {
+                    dirty[graph.succTargets[e]] = true;
+                }
+            }
+        }
+
+        return Arrays.copyOf(changed, changedCount);
+    }
+}
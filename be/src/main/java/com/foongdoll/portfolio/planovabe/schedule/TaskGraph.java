@@ -0,0 +1,214 @@
+package com.foongdoll.portfolio.planovabe.schedule;
+
+import java.util.Arrays;
+
+/**
+ * Immutable dependency graph of a project in CSR form.
+ * Task IDs are compacted to dense indices (position in the ascending {@code taskIds} array),
+ * successors of node {@code i} are {@code succTargets[succOffsets[i] .. succOffsets[i + 1])},
+ * predecessors likewise in {@code predTargets}.
+ */
+public final class TaskGraph {
+
+    private final long[] taskIds;
+    final int[] succOffsets;
+    final int[] succTargets;
+    final int[] predOffsets;
+    final int[] predTargets;
+
+    private TaskGraph(long[] taskIds, int[] succOffsets, int[] succTargets, int[] predOffsets, int[] predTargets) {
+        this.taskIds = taskIds;
+        this.succOffsets = succOffsets;
+        this.succTargets = succTargets;
+        this.predOffsets = predOffsets;
+        this.predTargets = predTargets;
+    }
+
+    public static Builder builder(int expectedTasks, int expectedEdges) {
+        return new Builder(expectedTasks, expectedEdges);
+    }
+
+    public int size() {
+        return taskIds.length;
+    }
+
+    public int edgeCount() {
+        return succTargets.length;
+    }
+
+    public long taskId(int index) {
+        return taskIds[index];
+    }
+
+    /** Dense index of the task, or a negative value if the task is not part of the graph. */
+    public int indexOf(long taskId) {
+        return Arrays.binarySearch(taskIds, taskId);
+    }
+
+    public int successorStart(int index) {
+        return succOffsets[index];
+    }
+
+    public int successorEnd(int index) {
+        return succOffsets[index + 1];
+    }
+
+    public int successorAt(int edge) {
+        return succTargets[edge];
+    }
+
+    public int predecessorStart(int index) {
+        return predOffsets[index];
+    }
+
+    public int predecessorEnd(int index) {
+        return predOffsets[index + 1];
+    }
+
+    public int predecessorAt(int edge) {
+        return predTargets[edge];
+    }
+
+    public boolean hasEdge(int from, int to) {
+        for (int e = succOffsets[from], end = succOffsets[from + 1]; e < end; e++) {
+            if (succTargets[e] == to) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Copy of this graph with the given additional edges, e.g. to validate a batch of inserts in one sort. */
+    public TaskGraph withEdges(long[] fromTaskIds, long[] toTaskIds) {
+        Builder builder = new Builder(taskIds.length, succTargets.length + fromTaskIds.length);
+        for (long taskId : taskIds) {
+            builder.addTask(taskId);
+        }
+        for (int v = 0; v < taskIds.length; v++) {
+            for (int e = succOffsets[v], end = succOffsets[v + 1]; e < end; e++) {
+                builder.addEdge(taskIds[v], taskIds[succTargets[e]]);
+            }
+        }
+        for (int i = 0; i < fromTaskIds.length; i++) {
+            builder.addEdge(fromTaskIds[i], toTaskIds[i]);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Kahn's algorithm over the CSR arrays. The result array doubles as the work queue.
+     *
+     * @return node indices in topological order, or {@code null} if the graph has a cycle
+     */
+    public int[] topologicalOrder() {
+        int n = taskIds.length;
+        int[] inDegree = new int[n];
+        for (int i = 0; i < n; i++) {
+            inDegree[i] = predOffsets[i + 1] - predOffsets[i];
+        }
+
+        int[] order = new int[n];
+        int tail = 0;
+        for (int i = 0; i < n; i++) {
+            if (inDegree[i] == 0) {
+                order[tail++] = i;
+            }
+        }
+
+        int head = 0;
+        while (head < tail) {
+            int v = order[head++];
+            for (int e = succOffsets[v], end = succOffsets[v + 1]; e < end; e++) {
+                int w = succTargets[e];
+                if (--inDegree[w] == 0) {
+                    order[tail++] = w;
+                }
+            }
+        }
+
+        return tail == n ? order : null;
+    }
+
+    public static final class Builder {
+
+        private long[] taskIds;
+        private int taskCount;
+        private long[] edgeFrom;
+        private long[] edgeTo;
+        private int edgeCount;
+
+        private Builder(int expectedTasks, int expectedEdges) {
+            this.taskIds = new long[Math.max(expectedTasks, 16)];
+            this.edgeFrom = new long[Math.max(expectedEdges, 16)];
+            this.edgeTo = new long[edgeFrom.length];
+        }
+
+        /** Tasks must be added in strictly ascending ID order. */
+        public Builder addTask(long taskId) {
+            if (taskCount > 0 && taskIds[taskCount - 1] >= taskId) {
+                throw new IllegalArgumentException("Task IDs must be added in ascending order: " + taskId);
+            }
+            if (taskCount == taskIds.length) {
+                taskIds = Arrays.copyOf(taskIds, taskCount * 2);
+            }
+            taskIds[taskCount++] = taskId;
+            return this;
+        }
+
+        public Builder addEdge(long fromTaskId, long toTaskId) {
+            if (edgeCount == edgeFrom.length) {
+                edgeFrom = Arrays.copyOf(edgeFrom, edgeCount * 2);
+                edgeTo = Arrays.copyOf(edgeTo, edgeCount * 2);
+            }
+            edgeFrom[edgeCount] = fromTaskId;
+            edgeTo[edgeCount] = toTaskId;
+            edgeCount++;
+            return this;
+        }
+
+        public int taskCount() {
+            return taskCount;
+        }
+
+        /** Edges whose endpoints were not added as tasks are dropped. */
+        public TaskGraph build() {
+            long[] ids = Arrays.copyOf(taskIds, taskCount);
+            int n = ids.length;
+
+            int[] from = new int[edgeCount];
+            int[] to = new int[edgeCount];
+            int m = 0;
+            for (int e = 0; e < edgeCount; e++) {
+                int f = Arrays.binarySearch(ids, edgeFrom[e]);
+                int t = Arrays.binarySearch(ids, edgeTo[e]);
+                if (f >= 0 && t >= 0) {
+                    from[m] = f;
+                    to[m] = t;
+                    m++;
+                }
+            }
+
+            int[] succOffsets = new int[n + 1];
+            int[] predOffsets = new int[n + 1];
+            for (int e = 0; e < m; e++) {
+                succOffsets[from[e] + 1]++;
+                predOffsets[to[e] + 1]++;
+            }
+            for (int i = 0; i < n; i++) {
+                succOffsets[i + 1] += succOffsets[i];
+                predOffsets[i + 1] += predOffsets[i];
+            }
+
+            int[] succTargets = new int[m];
+            int[] predTargets = new int[m];
+            int[] succFill = Arrays.copyOf(succOffsets, n);
+            int[] predFill = Arrays.copyOf(predOffsets, n);
+            for (int e = 0; e < m; e++) {
+                succTargets[succFill[from[e]]++] = to[e];
+                predTargets[predFill[to[e]]++] = from[e];
+            }
+
+            return new TaskGraph(ids, succOffsets, succTargets, predOffsets, predTargets);
+        }
+    }
+}
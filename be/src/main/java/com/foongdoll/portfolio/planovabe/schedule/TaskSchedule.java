@@ -0,0 +1,108 @@
+package com.foongdoll.portfolio.planovabe.schedule;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Dates of every task in a {@link TaskGraph}, stored as epoch days in arrays indexed by the graph's dense task index.
+ */
+public final class TaskSchedule {
+
+    public static final long NO_DATE = Long.MIN_VALUE;
+    public static final int NO_DURATION = Integer.MIN_VALUE;
+
+    private final TaskGraph graph;
+    final long[] startDays;
+    final int[] durations;
+    final long[] endDays;
+
+    private TaskSchedule(TaskGraph graph, long[] startDays, int[] durations, long[] endDays) {
+        this.graph = graph;
+        this.startDays = startDays;
+        this.durations = durations;
+        this.endDays = endDays;
+    }
+
+    public static Builder builder(int expectedTasks, int expectedEdges) {
+        return new Builder(expectedTasks, expectedEdges);
+    }
+
+    public TaskGraph graph() {
+        return graph;
+    }
+
+    public long startDay(int index) {
+        return startDays[index];
+    }
+
+    public int duration(int index) {
+        return durations[index];
+    }
+
+    public long endDay(int index) {
+        return endDays[index];
+    }
+
+    public LocalDate startDate(int index) {
+        return toDate(startDays[index]);
+    }
+
+    public LocalDate endDate(int index) {
+        return toDate(endDays[index]);
+    }
+
+    public static long toEpochDay(LocalDate date) {
+        return date != null ? date.toEpochDay() : NO_DATE;
+    }
+
+    public static LocalDate toDate(long epochDay) {
+        return epochDay != NO_DATE ? LocalDate.ofEpochDay(epochDay) : null;
+    }
+
+    public static final class Builder {
+
+        private final TaskGraph.Builder graph;
+        private long[] startDays;
+        private int[] durations;
+        private long[] endDays;
+
+        private Builder(int expectedTasks, int expectedEdges) {
+            this.graph = TaskGraph.builder(expectedTasks, expectedEdges);
+            int capacity = Math.max(expectedTasks, 16);
+            this.startDays = new long[capacity];
+            this.durations = new int[capacity];
+            this.endDays = new long[capacity];
+        }
+
+        /** Tasks must be added in strictly ascending ID order. */
+        public Builder addTask(long taskId, LocalDate startDate, Integer durationDays, LocalDate endDate) {
+            return addTask(taskId, toEpochDay(startDate),
+                    durationDays != null ? durationDays : NO_DURATION, toEpochDay(endDate));
+        }
+
+        public Builder addTask(long taskId, long startDay, int duration, long endDay) {
+            int index = graph.taskCount();
+            graph.addTask(taskId);
+            if (index == startDays.length) {
+                startDays = Arrays.copyOf(startDays, index * 2);
+                durations = Arrays.copyOf(durations, index * 2);
+                endDays = Arrays.copyOf(endDays, index * 2);
+            }
+            startDays[index] = startDay;
+            durations[index] = duration;
+            endDays[index] = endDay;
+            return this;
+        }
+
+        public Builder addEdge(long fromTaskId, long toTaskId) {
+            graph.addEdge(fromTaskId, toTaskId);
+            return this;
+        }
+
+        public TaskSchedule build() {
+            int n = graph.taskCount();
+            return new TaskSchedule(graph.build(),
+                    Arrays.copyOf(startDays, n), Arrays.copyOf(durations, n), Arrays.copyOf(endDays, n));
+        }
+    }
+}
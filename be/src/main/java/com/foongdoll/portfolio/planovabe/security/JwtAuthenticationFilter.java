@@ -1,7 +1,7 @@
 package com.foongdoll.portfolio.planovabe.security;
 
-import com.foongdoll.portfolio.planovabe.entity.User;
-import com.foongdoll.portfolio.planovabe.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,35 +14,44 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final Timer authenticatedTimer;
+    private final Timer anonymousTimer;
 
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, UserRepository userRepository) {
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, PrincipalCache principalCache,
+                                   MeterRegistry registry) {
         this.jwtTokenProvider = jwtTokenProvider;
-        this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.authenticatedTimer = Timer.builder("auth.filter").tag("authenticated", "true").register(registry);
+        this.anonymousTimer = Timer.builder("auth.filter").tag("authenticated", "false").register(registry);
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
+        long start = System.nanoTime();
         String token = extractToken(request);
+        boolean authenticated = false;
 
-        if (StringUtils.hasText(token) && jwtTokenProvider.validateToken(token)) {
-            Long userId = jwtTokenProvider.extractUserId(token);
-            User user = userRepository.findById(userId).orElse(null);
+        VerifiedToken verified = StringUtils.hasText(token) ? jwtTokenProvider.verify(token) : null;
+        if (verified != null) {
+            UserPrincipal principal = principalCache.get(verified.userId());
 
-            if (user != null) {
-                UserPrincipal principal = UserPrincipal.from(user);
+            if (principal != null) {
                 UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
                         principal, null, principal.getAuthorities());
                 auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(auth);
+                authenticated = true;
             }
         }
+        (authenticated ? authenticatedTimer : anonymousTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
         filterChain.doFilter(request, response);
     }
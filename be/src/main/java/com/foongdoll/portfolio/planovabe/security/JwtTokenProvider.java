@@ -1,23 +1,50 @@
 package com.foongdoll.portfolio.planovabe.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtTokenProvider {
 
+    private static final long MAX_VERIFIED_TOKENS = 10_000;
+    private static final Duration VERIFIED_TOKEN_TTL = Duration.ofMinutes(10);
+
     private final SecretKey key;
     private final long expirationMs;
+    private final JwtParser parser;
+    // SHA-256 of the token -> verified claims; a hit skips the HMAC check and the header/payload decoding
+    private final Cache<String, VerifiedToken> verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(MAX_VERIFIED_TOKENS)
+            .expireAfterWrite(VERIFIED_TOKEN_TTL)
+            .recordStats()
+            .build();
+    private final Timer cachedVerifyTimer;
+    private final Timer fullVerifyTimer;
 
-    public JwtTokenProvider(JwtProperties props) {
+    public JwtTokenProvider(JwtProperties props, MeterRegistry registry) {
         byte[] keyBytes = Base64.getDecoder().decode(props.secret());
         this.key = Keys.hmacShaKeyFor(keyBytes);
         this.expirationMs = props.expirationMs();
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.cachedVerifyTimer = Timer.builder("auth.token.verify").tag("cache", "hit").register(registry);
+        this.fullVerifyTimer = Timer.builder("auth.token.verify").tag("cache", "miss").register(registry);
+        CaffeineCacheMetrics.monitor(registry, verifiedTokens, "verified-tokens");
     }
 
     public String generateToken(Long userId) {
@@ -32,21 +59,47 @@ public class JwtTokenProvider {
                 .compact();
     }
 
-    public Long extractUserId(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return Long.parseLong(claims.getSubject());
+    /** Verifies the signature and expiry in one pass. */
+    public Claims parseClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
     }
 
-    public boolean validateToken(String token) {
+    /** @return the verified token, or {@code null} if it is malformed, forged or expired */
+    public VerifiedToken verify(String token) {
+        long start = System.nanoTime();
+        String digest = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            VerifiedToken result = cached;
+            if (cached.isExpired(Instant.now())) {
+                verifiedTokens.invalidate(digest);
+                result = null;
+            }
+            cachedVerifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        }
+
+        VerifiedToken verified = null;
         try {
-            Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
-            return true;
+            Claims claims = parseClaims(token);
+            Date expiration = claims.getExpiration();
+            verified = new VerifiedToken(
+                    Long.parseLong(claims.getSubject()),
+                    expiration != null ? expiration.toInstant() : null);
+            verifiedTokens.put(digest, verified);
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            // Malformed, forged or expired
+        }
+        fullVerifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return verified;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
     }
 }
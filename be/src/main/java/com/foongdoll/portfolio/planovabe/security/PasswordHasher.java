@@ -0,0 +1,74 @@
+package com.foongdoll.portfolio.planovabe.security;
+
+import com.foongdoll.portfolio.planovabe.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt on a small dedicated pool so that login bursts queue here instead of occupying servlet threads.
+ * The queue is bounded; once it is full, requests fail fast with 503 rather than waiting behind the backlog.
+ */
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+    private final Counter rejections;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder, PasswordHashingProperties props, MeterRegistry registry) {
+        this.passwordEncoder = passwordEncoder;
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                props.threads(), props.threads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(props.queueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("auth.password.hash").tag("operation", "encode").register(registry);
+        this.matchTimer = Timer.builder("auth.password.hash").tag("operation", "matches").register(registry);
+        this.rejections = Counter.builder("auth.password.rejected").register(registry);
+        Gauge.builder("auth.password.queue.depth", executor, e -> e.getQueue().size()).register(registry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount).register(registry);
+    }
+
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    public CompletableFuture<Boolean> matches(String rawPassword, String passwordHash) {
+        return submit(() -> matchTimer.record(() -> passwordEncoder.matches(rawPassword, passwordHash)));
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new ServiceUnavailableException("Too many authentication requests, try again shortly");
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
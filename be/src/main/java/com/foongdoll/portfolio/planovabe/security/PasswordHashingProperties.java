@@ -0,0 +1,9 @@
+package com.foongdoll.portfolio.planovabe.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "auth.hashing")
+public record PasswordHashingProperties(
+    int threads,
+    int queueCapacity
+) {}
@@ -0,0 +1,82 @@
+package com.foongdoll.portfolio.planovabe.security;
+
+import com.foongdoll.portfolio.planovabe.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Authenticated principals by user ID, so that requests with a valid token do not load the user from the
+ * database each time. Entries expire after a few minutes and are dropped as soon as the user entity changes.
+ */
+@Component
+public class PrincipalCache {
+
+    private static final long MAX_PRINCIPALS = 10_000;
+    private static final Duration TTL = Duration.ofMinutes(5);
+    private static final int STRIPES = 64;
+
+    private final UserRepository userRepository;
+    private final Cache<Long, UserPrincipal> principals = Caffeine.newBuilder()
+            .maximumSize(MAX_PRINCIPALS)
+            .expireAfterWrite(TTL)
+            .recordStats()
+            .build();
+    // Bumped by every invalidation, so a load that raced with one is served but not cached
+    private final AtomicLongArray invalidationStamps = new AtomicLongArray(STRIPES);
+
+    public PrincipalCache(UserRepository userRepository, MeterRegistry registry) {
+        this.userRepository = userRepository;
+        CaffeineCacheMetrics.monitor(registry, principals, "principals");
+    }
+
+    /** The user's principal, or {@code null} if the user no longer exists. Missing users are not cached. */
+    public UserPrincipal get(Long userId) {
+        UserPrincipal principal = principals.getIfPresent(userId);
+        if (principal != null) {
+            return principal;
+        }
+        // Loaded outside the cache's compute lock, which would otherwise pin a virtual thread for the query
+        int stripe = stripe(userId);
+        long stamp = invalidationStamps.get(stripe);
+        UserPrincipal loaded = userRepository.findById(userId).map(UserPrincipal::from).orElse(null);
+        if (loaded == null) {
+            return null;
+        }
+        UserPrincipal cached = principals.asMap().compute(userId,
+                (id, existing) -> existing != null || invalidationStamps.get(stripe) != stamp ? existing : loaded);
+        return cached != null ? cached : loaded;
+    }
+
+    /**
+     * Drops the principal now and again once the current transaction completes, since a load in between still
+     * reads the committed, old row.
+     */
+    public void invalidate(Long userId) {
+        evict(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(userId);
+                }
+            });
+        }
+    }
+
+    private void evict(Long userId) {
+        invalidationStamps.incrementAndGet(stripe(userId));
+        principals.invalidate(userId);
+    }
+
+    private static int stripe(Long userId) {
+        return Long.hashCode(userId) & (STRIPES - 1);
+    }
+}
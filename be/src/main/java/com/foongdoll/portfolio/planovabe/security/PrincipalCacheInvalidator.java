@@ -0,0 +1,21 @@
+package com.foongdoll.portfolio.planovabe.security;
+
+import com.foongdoll.portfolio.planovabe.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/** JPA listener on {@link User}; instantiated by Hibernate through the Spring bean container. */
+public class PrincipalCacheInvalidator {
+
+    private final PrincipalCache principalCache;
+
+    public PrincipalCacheInvalidator(PrincipalCache principalCache) {
+        this.principalCache = principalCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    void onChange(User user) {
+        principalCache.invalidate(user.getId());
+    }
+}
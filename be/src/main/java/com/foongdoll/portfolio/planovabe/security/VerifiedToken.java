@@ -0,0 +1,10 @@
+package com.foongdoll.portfolio.planovabe.security;
+
+import java.time.Instant;
+
+public record VerifiedToken(Long userId, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
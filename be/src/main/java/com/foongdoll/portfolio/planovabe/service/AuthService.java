@@ -10,49 +10,57 @@ import com.foongdoll.portfolio.planovabe.exception.InvalidRequestException;
 import com.foongdoll.portfolio.planovabe.exception.ResourceNotFoundException;
 import com.foongdoll.portfolio.planovabe.repository.UserRepository;
 import com.foongdoll.portfolio.planovabe.security.JwtTokenProvider;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import com.foongdoll.portfolio.planovabe.security.PasswordHasher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtTokenProvider jwtTokenProvider;
+    private final TransactionTemplate transactionTemplate;
 
-    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtTokenProvider jwtTokenProvider) {
+    public AuthService(UserRepository userRepository, PasswordHasher passwordHasher, JwtTokenProvider jwtTokenProvider,
+                       TransactionTemplate transactionTemplate) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.jwtTokenProvider = jwtTokenProvider;
+        this.transactionTemplate = transactionTemplate;
     }
 
-    @Transactional
-    public AuthResponse signup(SignupRequest request) {
+    // Hashing runs on the PasswordHasher pool; the request thread is released until it completes
+    public CompletableFuture<AuthResponse> signup(SignupRequest request) {
         if (userRepository.existsByEmail(request.email())) {
             throw new DuplicateResourceException("Email already in use: " + request.email());
         }
 
-        User user = User.builder()
-                .email(request.email())
-                .passwordHash(passwordEncoder.encode(request.password()))
-                .build();
-        user = userRepository.save(user);
+        return passwordHasher.encode(request.password()).thenApply(passwordHash -> {
+            User user = transactionTemplate.execute(status -> userRepository.save(User.builder()
+                    .email(request.email())
+                    .passwordHash(passwordHash)
+                    .build()));
 
-        String token = jwtTokenProvider.generateToken(user.getId());
-        return new AuthResponse(token, UserResponse.from(user));
+            String token = jwtTokenProvider.generateToken(user.getId());
+            return new AuthResponse(token, UserResponse.from(user));
+        });
     }
 
-    public AuthResponse login(LoginRequest request) {
+    public CompletableFuture<AuthResponse> login(LoginRequest request) {
         User user = userRepository.findByEmail(request.email())
                 .orElseThrow(() -> new InvalidRequestException("Invalid email or password"));
 
-        if (!passwordEncoder.matches(request.password(), user.getPasswordHash())) {
-            throw new InvalidRequestException("Invalid email or password");
-        }
+        return passwordHasher.matches(request.password(), user.getPasswordHash()).thenApply(matches -> {
+            if (!matches) {
+                throw new InvalidRequestException("Invalid email or password");
+            }
 
-        String token = jwtTokenProvider.generateToken(user.getId());
-        return new AuthResponse(token, UserResponse.from(user));
+            String token = jwtTokenProvider.generateToken(user.getId());
+            return new AuthResponse(token, UserResponse.from(user));
+        });
     }
 
     public UserResponse getCurrentUser(Long userId) {
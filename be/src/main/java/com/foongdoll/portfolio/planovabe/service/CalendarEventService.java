@@ -1,13 +1,18 @@
 package com.foongdoll.portfolio.planovabe.service;
 
 import com.foongdoll.portfolio.planovabe.dto.request.CreateCalendarEventRequest;
+import com.foongdoll.portfolio.planovabe.dto.request.RecurrenceRequest;
 import com.foongdoll.portfolio.planovabe.dto.request.UpdateCalendarEventRequest;
 import com.foongdoll.portfolio.planovabe.dto.response.CalendarEventResponse;
+import com.foongdoll.portfolio.planovabe.dto.response.PageResponse;
 import com.foongdoll.portfolio.planovabe.entity.CalendarEvent;
+import com.foongdoll.portfolio.planovabe.entity.RecurrenceFrequency;
 import com.foongdoll.portfolio.planovabe.entity.User;
+import com.foongdoll.portfolio.planovabe.exception.InvalidRequestException;
 import com.foongdoll.portfolio.planovabe.exception.ResourceNotFoundException;
 import com.foongdoll.portfolio.planovabe.repository.CalendarEventRepository;
 import com.foongdoll.portfolio.planovabe.repository.UserRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,21 +24,35 @@ public class CalendarEventService {
 
     private final CalendarEventRepository calendarEventRepository;
     private final UserRepository userRepository;
+    private final CalendarIntervalIndex calendarIntervalIndex;
 
-    public CalendarEventService(CalendarEventRepository calendarEventRepository, UserRepository userRepository) {
+    public CalendarEventService(CalendarEventRepository calendarEventRepository, UserRepository userRepository,
+                                CalendarIntervalIndex calendarIntervalIndex) {
         this.calendarEventRepository = calendarEventRepository;
         this.userRepository = userRepository;
+        this.calendarIntervalIndex = calendarIntervalIndex;
     }
 
-    public List<CalendarEventResponse> getEvents(Long userId, LocalDate startDate, LocalDate endDate) {
+    /**
+     * Pages through events ordered by (startDate, id). With a date range, occurrences of recurring series are
+     * expanded and paged like single events; without one, series are listed once.
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<CalendarEventResponse> getEvents(Long userId, LocalDate startDate, LocalDate endDate,
+                                                         String cursor, Integer limit) {
+        PageCursor.Keys after = PageCursor.decode(cursor, 2);
+        int size = PageCursor.limit(limit);
+        List<CalendarEventResponse> rows;
         if (startDate != null && endDate != null) {
-            return calendarEventRepository.findByUserIdAndDateRange(userId, startDate, endDate).stream()
-                    .map(CalendarEventResponse::from)
-                    .toList();
+            rows = calendarIntervalIndex.page(userId, startDate, endDate,
+                    after != null ? after.dateAt(0) : null, after != null ? after.longAt(1) : null, size + 1);
+        } else {
+            List<CalendarEvent> events = after == null
+                    ? calendarEventRepository.findByUserIdOrderByStartDateAscIdAsc(userId, Limit.of(size + 1))
+                    : calendarEventRepository.findPageAfter(userId, after.dateAt(0), after.longAt(1), Limit.of(size + 1));
+            rows = events.stream().map(CalendarEventResponse::from).toList();
         }
-        return calendarEventRepository.findByUserIdOrderByStartDateAsc(userId).stream()
-                .map(CalendarEventResponse::from)
-                .toList();
+        return PageResponse.of(rows, size, event -> PageCursor.encode(event.startDate(), event.id()));
     }
 
     @Transactional
@@ -52,18 +71,18 @@ public class CalendarEventService {
                 .allDay(request.allDay() != null ? request.allDay() : true)
                 .color(request.color())
                 .build();
+        if (request.recurrence() != null) {
+            applyRecurrence(event, request.recurrence());
+        }
 
-        return CalendarEventResponse.from(calendarEventRepository.save(event));
+        CalendarEventResponse response = CalendarEventResponse.from(calendarEventRepository.save(event));
+        calendarIntervalIndex.saved(userId, response);
+        return response;
     }
 
     @Transactional
     public CalendarEventResponse updateEvent(Long userId, Long eventId, UpdateCalendarEventRequest request) {
-        CalendarEvent event = calendarEventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Calendar event not found: " + eventId));
-
-        if (!event.getUser().getId().equals(userId)) {
-            throw new ResourceNotFoundException("Calendar event not found: " + eventId);
-        }
+        CalendarEvent event = findEvent(userId, eventId);
 
         if (request.title() != null) event.setTitle(request.title());
         if (request.description() != null) event.setDescription(request.description());
@@ -73,19 +92,64 @@ public class CalendarEventService {
         if (request.endTime() != null) event.setEndTime(request.endTime());
         if (request.allDay() != null) event.setAllDay(request.allDay());
         if (request.color() != null) event.setColor(request.color().isEmpty() ? null : request.color());
+        if (request.recurrence() != null) applyRecurrence(event, request.recurrence());
 
-        return CalendarEventResponse.from(calendarEventRepository.save(event));
+        CalendarEventResponse response = CalendarEventResponse.from(calendarEventRepository.saveAndFlush(event));
+        calendarIntervalIndex.saved(userId, response);
+        return response;
     }
 
     @Transactional
     public void deleteEvent(Long userId, Long eventId) {
+        CalendarEvent event = findEvent(userId, eventId);
+        calendarEventRepository.delete(event);
+        calendarIntervalIndex.deleted(userId, eventId);
+    }
+
+    /** Removes one occurrence of a series by adding its start date to the series' exceptions. */
+    @Transactional
+    public CalendarEventResponse deleteOccurrence(Long userId, Long eventId, LocalDate occurrenceDate) {
+        CalendarEvent event = findEvent(userId, eventId);
+        if (event.getRecurrenceFrequency() == null) {
+            throw new InvalidRequestException("Calendar event is not recurring: " + eventId);
+        }
+        event.getExceptionDates().add(occurrenceDate);
+
+        CalendarEventResponse response = CalendarEventResponse.from(calendarEventRepository.saveAndFlush(event));
+        calendarIntervalIndex.saved(userId, response);
+        return response;
+    }
+
+    private void applyRecurrence(CalendarEvent event, RecurrenceRequest recurrence) {
+        if (recurrence.frequency() == null || recurrence.frequency().isEmpty()) {
+            event.setRecurrenceFrequency(null);
+            event.setRecurrenceInterval(null);
+            event.setRecurrenceCount(null);
+            event.setRecurrenceUntil(null);
+            event.getExceptionDates().clear();
+            return;
+        }
+        try {
+            event.setRecurrenceFrequency(RecurrenceFrequency.valueOf(recurrence.frequency()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Unknown recurrence frequency: " + recurrence.frequency());
+        }
+        event.setRecurrenceInterval(recurrence.interval() != null ? recurrence.interval() : 1);
+        event.setRecurrenceCount(recurrence.count());
+        event.setRecurrenceUntil(recurrence.until());
+        if (recurrence.exceptions() != null) {
+            event.getExceptionDates().clear();
+            event.getExceptionDates().addAll(recurrence.exceptions());
+        }
+    }
+
+    private CalendarEvent findEvent(Long userId, Long eventId) {
         CalendarEvent event = calendarEventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Calendar event not found: " + eventId));
 
         if (!event.getUser().getId().equals(userId)) {
             throw new ResourceNotFoundException("Calendar event not found: " + eventId);
         }
-
-        calendarEventRepository.delete(event);
+        return event;
     }
 }
@@ -0,0 +1,99 @@
+package com.foongdoll.portfolio.planovabe.service;
+
+import com.foongdoll.portfolio.planovabe.dto.response.CalendarEventResponse;
+import com.foongdoll.portfolio.planovabe.repository.CalendarEventRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-user {@link EventIntervalTree}s for calendar range queries. A user's events are loaded once on their first
+ * range query and kept while the user stays active; committed writes are applied to the cached tree instead of
+ * reloading it, so switching months never goes back to the database.
+ */
+@Component
+public class CalendarIntervalIndex {
+
+    private static final long MAX_INDEXED_EVENTS = 2_000_000;
+    private static final Duration IDLE_EXPIRY = Duration.ofMinutes(30);
+    private static final int STRIPES = 64;
+
+    private final CalendarEventRepository calendarEventRepository;
+    private final Cache<Long, EventIntervalTree> trees = Caffeine.newBuilder()
+            .maximumWeight(MAX_INDEXED_EVENTS)
+            .<Long, EventIntervalTree>weigher((userId, tree) -> tree.size() + 1)
+            .expireAfterAccess(IDLE_EXPIRY)
+            .recordStats()
+            .build();
+    // Bumped by every committed write, so a load that raced with a write is served but not cached
+    private final AtomicLongArray writeStamps = new AtomicLongArray(STRIPES);
+
+    public CalendarIntervalIndex(CalendarEventRepository calendarEventRepository, MeterRegistry registry) {
+        this.calendarEventRepository = calendarEventRepository;
+        CaffeineCacheMetrics.monitor(registry, trees, "calendar-intervals");
+    }
+
+    /** One page of events and occurrences in the range, ordered by (startDate, id) after the given cursor key. */
+    public List<CalendarEventResponse> page(Long userId, LocalDate startDate, LocalDate endDate,
+                                            LocalDate afterDate, Long afterId, int limit) {
+        return treeFor(userId).page(startDate.toEpochDay(), endDate.toEpochDay(),
+                afterDate != null ? afterDate.toEpochDay() : Long.MIN_VALUE,
+                afterId != null ? afterId : Long.MIN_VALUE, limit);
+    }
+
+    public void saved(Long userId, CalendarEventResponse event) {
+        afterCommit(userId, () -> trees.asMap().computeIfPresent(userId, (id, tree) -> tree.with(event)));
+    }
+
+    public void deleted(Long userId, Long eventId) {
+        afterCommit(userId, () -> trees.asMap().computeIfPresent(userId, (id, tree) -> tree.without(eventId)));
+    }
+
+    // Loaded outside the cache's compute lock, which would otherwise pin a virtual thread for the query
+    private EventIntervalTree treeFor(Long userId) {
+        EventIntervalTree tree = trees.getIfPresent(userId);
+        if (tree != null) {
+            return tree;
+        }
+        int stripe = stripe(userId);
+        long stamp = writeStamps.get(stripe);
+        EventIntervalTree loaded = EventIntervalTree.of(calendarEventRepository.findByUserIdOrderByStartDateAsc(userId)
+                .stream()
+                .map(CalendarEventResponse::from)
+                .toList());
+        // A write that bumps the stamp after this check finds the tree cached and applies itself to it
+        EventIntervalTree cached = trees.asMap().compute(userId,
+                (id, existing) -> existing != null || writeStamps.get(stripe) != stamp ? existing : loaded);
+        return cached != null ? cached : loaded;
+    }
+
+    private void afterCommit(Long userId, Runnable apply) {
+        Runnable stampAndApply = () -> {
+            writeStamps.incrementAndGet(stripe(userId));
+            apply.run();
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            stampAndApply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                stampAndApply.run();
+            }
+        });
+    }
+
+    private static int stripe(Long userId) {
+        return Long.hashCode(userId) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,79 @@
+package com.foongdoll.portfolio.planovabe.service;
+
+import com.foongdoll.portfolio.planovabe.entity.ChangeTombstone;
+import com.foongdoll.portfolio.planovabe.repository.ChangeLogJdbcRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+
+/**
+ * Hands out per-project change versions for delta sync. Every write transaction uses a single version per project,
+ * allocated on first use; it must be allocated before the transaction inserts rows referencing the project, so the
+ * project row lock is always taken first. Allocating a version publishes a {@link ProjectChangedEvent}, which
+ * transactional listeners receive once the write commits.
+ */
+@Component
+public class ChangeTracker {
+
+    private final ChangeLogJdbcRepository changeLogJdbcRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ChangeTracker(ChangeLogJdbcRepository changeLogJdbcRepository, ApplicationEventPublisher eventPublisher) {
+        this.changeLogJdbcRepository = changeLogJdbcRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public long versionFor(Long projectId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            long version = changeLogJdbcRepository.nextVersion(projectId);
+            eventPublisher.publishEvent(new ProjectChangedEvent(projectId, version));
+            return version;
+        }
+        VersionKey key = new VersionKey(projectId);
+        Long version = (Long) TransactionSynchronizationManager.getResource(key);
+        if (version == null) {
+            version = changeLogJdbcRepository.nextVersion(projectId);
+            TransactionSynchronizationManager.bindResource(key, version);
+            eventPublisher.publishEvent(new ProjectChangedEvent(projectId, version));
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(key);
+                }
+            });
+        }
+        return version;
+    }
+
+    /**
+     * Serializes the transaction with the project's writers from here on, for passes that read project state
+     * before they know whether they will write.
+     */
+    public void lock(Long projectId) {
+        changeLogJdbcRepository.lockProject(projectId);
+    }
+
+    /** Records deletion of the tasks along with everything the database changes implicitly when they go. */
+    public void tasksDeleted(Long projectId, Collection<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        long version = versionFor(projectId);
+        changeLogJdbcRepository.insertDependencyTombstonesForTasks(projectId, taskIds, version);
+        changeLogJdbcRepository.touchChildren(taskIds, version);
+        changeLogJdbcRepository.insertTombstones(projectId, ChangeTombstone.TASK, taskIds, version);
+    }
+
+    public void dependenciesDeleted(Long projectId, Collection<Long> dependencyIds) {
+        if (dependencyIds.isEmpty()) {
+            return;
+        }
+        changeLogJdbcRepository.insertTombstones(projectId, ChangeTombstone.DEPENDENCY, dependencyIds,
+                versionFor(projectId));
+    }
+
+    private record VersionKey(Long projectId) {}
+}
@@ -0,0 +1,47 @@
+package com.foongdoll.portfolio.planovabe.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Duration and graph nodes visited per dependency cycle check, tagged with the strategy ({@code incremental} for
+ * single inserts against the maintained order, {@code full_sort} for bulk inserts) and whether the edges were
+ * accepted or closed a cycle.
+ */
+class CycleCheckMetrics {
+
+    private final Timer acceptedTimer;
+    private final Timer cycleTimer;
+    private final DistributionSummary acceptedVisited;
+    private final DistributionSummary cycleVisited;
+
+    CycleCheckMetrics(MeterRegistry registry, String strategy) {
+        this.acceptedTimer = timer(registry, strategy, "accepted");
+        this.cycleTimer = timer(registry, strategy, "cycle");
+        this.acceptedVisited = visited(registry, strategy, "accepted");
+        this.cycleVisited = visited(registry, strategy, "cycle");
+    }
+
+    void record(boolean accepted, int nodesVisited, long nanos) {
+        (accepted ? acceptedTimer : cycleTimer).record(nanos, TimeUnit.NANOSECONDS);
+        (accepted ? acceptedVisited : cycleVisited).record(nodesVisited);
+    }
+
+    private static Timer timer(MeterRegistry registry, String strategy, String result) {
+        return Timer.builder("dependency.cycle.check")
+                .tag("strategy", strategy)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static DistributionSummary visited(MeterRegistry registry, String strategy, String result) {
+        return DistributionSummary.builder("dependency.cycle.check.visited")
+                .tag("strategy", strategy)
+                .tag("result", result)
+                .baseUnit("nodes")
+                .register(registry);
+    }
+}
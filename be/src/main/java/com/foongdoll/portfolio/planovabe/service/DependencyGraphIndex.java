@@ -0,0 +1,165 @@
+package com.foongdoll.portfolio.planovabe.service;
+
+import com.foongdoll.portfolio.planovabe.repository.TaskJdbcRepository;
+import com.foongdoll.portfolio.planovabe.schedule.DynamicTopologicalOrder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-project dependency graphs kept in memory with a maintained topological order, so that cycle checks on
+ * edge insert only search the region of the order the new edge actually affects instead of the whole edge set.
+ * Graphs are loaded lazily from the database and evicted whenever a transaction that touched them rolls back.
+ * Locks are {@link ReentrantLock}s and never held across database calls, so virtual threads are not pinned.
+ */
+@Component
+public class DependencyGraphIndex {
+
+    private static final int MAX_CACHED_PROJECTS = 256;
+
+    private final TaskJdbcRepository taskJdbcRepository;
+    private final CycleCheckMetrics cycleCheckMetrics;
+    private final ReentrantLock ordersLock = new ReentrantLock();
+    private final Map<Long, GuardedOrder> orders = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, GuardedOrder> eldest) {
+            return size() > MAX_CACHED_PROJECTS;
+        }
+    };
+
+    public DependencyGraphIndex(TaskJdbcRepository taskJdbcRepository, MeterRegistry registry) {
+        this.taskJdbcRepository = taskJdbcRepository;
+        this.cycleCheckMetrics = new CycleCheckMetrics(registry, "incremental");
+    }
+
+    /**
+     * Adds the edge to the project's graph unless it would close a cycle. A detected cycle is confirmed against
+     * a freshly loaded graph before it is reported, so a stale cache can never reject a valid edge; if the fresh
+     * graph disagrees, the cached one is dropped rather than replaced. The caller must hold the project lock
+     * (see {@link ChangeTracker#lock}) from before its first read, so that loads see every committed edge.
+     */
+    public boolean tryAddEdge(Long projectId, Long fromTaskId, Long toTaskId) {
+        boolean added = addEdge(orderFor(projectId), fromTaskId, toTaskId);
+        if (!added) {
+            DynamicTopologicalOrder fresh = DynamicTopologicalOrder.of(taskJdbcRepository.loadGraph(projectId));
+            added = fresh.addEdge(fromTaskId, toTaskId);
+            if (added) {
+                evict(projectId);
+            }
+        }
+        if (added) {
+            afterCompletion(() -> { }, () -> evict(projectId));
+        }
+        return added;
+    }
+
+    public void removeEdge(Long projectId, Long fromTaskId, Long toTaskId) {
+        afterCompletion(() -> {
+            GuardedOrder order = cached(projectId);
+            if (order != null) {
+                order.lock.lock();
+                try {
+                    order.order.removeEdge(fromTaskId, toTaskId);
+                } finally {
+                    order.lock.unlock();
+                }
+            }
+        }, () -> { });
+    }
+
+    public void removeTask(Long projectId, Long taskId) {
+        afterCompletion(() -> {
+            GuardedOrder order = cached(projectId);
+            if (order != null) {
+                order.lock.lock();
+                try {
+                    order.order.removeTask(taskId);
+                } finally {
+                    order.lock.unlock();
+                }
+            }
+        }, () -> { });
+    }
+
+    /** Drops the project's graph once the current transaction completes, for writes that bypass the index. */
+    public void invalidate(Long projectId) {
+        afterCompletion(() -> evict(projectId), () -> evict(projectId));
+    }
+
+    public void evict(Long projectId) {
+        ordersLock.lock();
+        try {
+            orders.remove(projectId);
+        } finally {
+            ordersLock.unlock();
+        }
+    }
+
+    private boolean addEdge(GuardedOrder order, Long fromTaskId, Long toTaskId) {
+        order.lock.lock();
+        try {
+            long start = System.nanoTime();
+            boolean added = order.order.addEdge(fromTaskId, toTaskId);
+            cycleCheckMetrics.record(added, order.order.lastVisited(), System.nanoTime() - start);
+            return added;
+        } finally {
+            order.lock.unlock();
+        }
+    }
+
+    private GuardedOrder cached(Long projectId) {
+        ordersLock.lock();
+        try {
+            return orders.get(projectId);
+        } finally {
+            ordersLock.unlock();
+        }
+    }
+
+    // The graph is loaded without holding any lock; a concurrent load of the same project simply loses the race
+    private GuardedOrder orderFor(Long projectId) {
+        GuardedOrder order = cached(projectId);
+        if (order != null) {
+            return order;
+        }
+        GuardedOrder loaded = new GuardedOrder(DynamicTopologicalOrder.of(taskJdbcRepository.loadGraph(projectId)));
+        ordersLock.lock();
+        try {
+            return orders.computeIfAbsent(projectId, id -> loaded);
+        } finally {
+            ordersLock.unlock();
+        }
+    }
+
+    private void afterCompletion(Runnable onCommit, Runnable onRollback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            onCommit.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    onCommit.run();
+                } else {
+                    onRollback.run();
+                }
+            }
+        });
+    }
+
+    private static final class GuardedOrder {
+
+        final DynamicTopologicalOrder order;
+        final ReentrantLock lock = new ReentrantLock();
+
+        GuardedOrder(DynamicTopologicalOrder order) {
+            this.order = order;
+        }
+    }
+}
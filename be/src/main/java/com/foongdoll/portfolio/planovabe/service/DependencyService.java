@@ -1,7 +1,9 @@
 package com.foongdoll.portfolio.planovabe.service;
 
+import com.foongdoll.portfolio.planovabe.dto.request.BulkCreateDependenciesRequest;
 import com.foongdoll.portfolio.planovabe.dto.request.CreateDependencyRequest;
 import com.foongdoll.portfolio.planovabe.dto.response.DependencyResponse;
+import com.foongdoll.portfolio.planovabe.dto.response.PageResponse;
 import com.foongdoll.portfolio.planovabe.entity.Dependency;
 import com.foongdoll.portfolio.planovabe.entity.Project;
 import com.foongdoll.portfolio.planovabe.entity.Task;
@@ -9,37 +11,71 @@ import com.foongdoll.portfolio.planovabe.exception.CycleDetectedException;
 import com.foongdoll.portfolio.planovabe.exception.DuplicateResourceException;
 import com.foongdoll.portfolio.planovabe.exception.InvalidRequestException;
 import com.foongdoll.portfolio.planovabe.exception.ResourceNotFoundException;
+import com.foongdoll.portfolio.planovabe.repository.DependencyJdbcRepository;
 import com.foongdoll.portfolio.planovabe.repository.DependencyRepository;
 import com.foongdoll.portfolio.planovabe.repository.ProjectRepository;
+import com.foongdoll.portfolio.planovabe.repository.TaskJdbcRepository;
 import com.foongdoll.portfolio.planovabe.repository.TaskRepository;
+import com.foongdoll.portfolio.planovabe.schedule.TaskGraph;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.*;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 @Service
 public class DependencyService {
 
     private final DependencyRepository dependencyRepository;
+    private final DependencyJdbcRepository dependencyJdbcRepository;
     private final ProjectRepository projectRepository;
     private final TaskRepository taskRepository;
+    private final TaskJdbcRepository taskJdbcRepository;
+    private final ScheduleService scheduleService;
+    private final DependencyGraphIndex dependencyGraphIndex;
+    private final ChangeTracker changeTracker;
+    private final CycleCheckMetrics bulkCycleCheckMetrics;
+    private final TransactionTemplate transactionTemplate;
 
     public DependencyService(DependencyRepository dependencyRepository,
+                             DependencyJdbcRepository dependencyJdbcRepository,
                              ProjectRepository projectRepository,
-                             TaskRepository taskRepository) {
+                             TaskRepository taskRepository,
+                             TaskJdbcRepository taskJdbcRepository,
+                             ScheduleService scheduleService,
+                             DependencyGraphIndex dependencyGraphIndex,
+                             ChangeTracker changeTracker,
+                             MeterRegistry registry,
+                             TransactionTemplate transactionTemplate) {
         this.dependencyRepository = dependencyRepository;
+        this.dependencyJdbcRepository = dependencyJdbcRepository;
         this.projectRepository = projectRepository;
         this.taskRepository = taskRepository;
+        this.taskJdbcRepository = taskJdbcRepository;
+        this.scheduleService = scheduleService;
+        this.dependencyGraphIndex = dependencyGraphIndex;
+        this.changeTracker = changeTracker;
+        this.bulkCycleCheckMetrics = new CycleCheckMetrics(registry, "full_sort");
+        this.transactionTemplate = transactionTemplate;
     }
 
-    public List<DependencyResponse> getDependenciesByProject(Long projectId) {
-        return dependencyRepository.findByProjectId(projectId).stream()
-                .map(DependencyResponse::from)
-                .toList();
+    public PageResponse<DependencyResponse> getDependenciesByProject(Long projectId, String cursor, Integer limit) {
+        PageCursor.Keys after = PageCursor.decode(cursor, 1);
+        int size = PageCursor.limit(limit);
+        List<DependencyResponse> rows = dependencyRepository.findResponsePage(projectId,
+                after != null ? after.longAt(0) : 0L, Limit.of(size + 1));
+        return PageResponse.of(rows, size, dependency -> PageCursor.encode(dependency.id()));
     }
 
     @Transactional
     public DependencyResponse createDependency(Long projectId, CreateDependencyRequest request) {
+        // Locked before the first read, so the reads below and any graph load see every edge committed before us
+        changeTracker.lock(projectId);
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found: " + projectId));
 
@@ -49,6 +85,10 @@ public class DependencyService {
         Task toTask = taskRepository.findById(request.toTaskId())
                 .orElseThrow(() -> new ResourceNotFoundException("To task not found: " + request.toTaskId()));
 
+        if (!fromTask.getProject().getId().equals(projectId) || !toTask.getProject().getId().equals(projectId)) {
+            throw new InvalidRequestException("Tasks must belong to project: " + projectId);
+        }
+
         if (fromTask.getId().equals(toTask.getId())) {
             throw new InvalidRequestException("Cannot create self-dependency");
         }
@@ -57,8 +97,10 @@ public class DependencyService {
             throw new DuplicateResourceException("Dependency already exists");
         }
 
-        // Cycle detection: check if toTask can reach fromTask through existing dependencies
-        if (wouldCreateCycle(projectId, request.toTaskId(), request.fromTaskId())) {
+        long changeVersion = changeTracker.versionFor(projectId);
+
+        // Cycle detection: the cached topological order only searches the region the new edge affects
+        if (!dependencyGraphIndex.tryAddEdge(projectId, request.fromTaskId(), request.toTaskId())) {
             throw new CycleDetectedException("Adding this dependency would create a cycle");
         }
 
@@ -66,48 +108,98 @@ public class DependencyService {
                 .project(project)
                 .fromTask(fromTask)
                 .toTask(toTask)
+                .changeVersion(changeVersion)
                 .build();
 
-        return DependencyResponse.from(dependencyRepository.save(dependency));
-    }
+        Dependency saved = dependencyRepository.saveAndFlush(dependency);
+        scheduleService.propagateFrom(projectId, List.of(toTask.getId()), true);
 
-    @Transactional
-    public void deleteDependency(Long depId) {
-        Dependency dep = dependencyRepository.findById(depId)
-                .orElseThrow(() -> new ResourceNotFoundException("Dependency not found: " + depId));
-        dependencyRepository.delete(dep);
+        return DependencyResponse.from(saved);
     }
 
-    private boolean wouldCreateCycle(Long projectId, Long startTaskId, Long targetTaskId) {
-        // BFS from startTaskId following existing edges (fromTask -> toTask)
-        // If we can reach targetTaskId, adding the reverse edge would create a cycle
-        List<Dependency> allDeps = dependencyRepository.findByProjectId(projectId);
-
-        Map<Long, List<Long>> adjacency = new HashMap<>();
-        for (Dependency dep : allDeps) {
-            adjacency.computeIfAbsent(dep.getFromTask().getId(), k -> new ArrayList<>())
-                    .add(dep.getToTask().getId());
+    @Transactional
+    public List<DependencyResponse> createDependencies(Long projectId, BulkCreateDependenciesRequest request) {
+        // As in createDependency: the cycle check must see every edge committed before this batch
+        changeTracker.lock(projectId);
+        if (!projectRepository.existsById(projectId)) {
+            throw new ResourceNotFoundException("Project not found: " + projectId);
         }
 
-        Set<Long> visited = new HashSet<>();
-        Queue<Long> queue = new LinkedList<>();
-        queue.add(startTaskId);
-        visited.add(startTaskId);
+        List<CreateDependencyRequest> edges = request.dependencies();
+        int count = edges.size();
+        long[] fromTaskIds = new long[count];
+        long[] toTaskIds = new long[count];
+        Set<Long> taskIds = new LinkedHashSet<>();
+        Set<Edge> seen = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            CreateDependencyRequest edge = edges.get(i);
+            if (edge.fromTaskId().equals(edge.toTaskId())) {
+                throw new InvalidRequestException("Cannot create self-dependency: " + edge.fromTaskId());
+            }
+            if (!seen.add(new Edge(edge.fromTaskId(), edge.toTaskId()))) {
+                throw new DuplicateResourceException("Duplicate dependency in request: "
+                        + edge.fromTaskId() + " -> " + edge.toTaskId());
+            }
+            fromTaskIds[i] = edge.fromTaskId();
+            toTaskIds[i] = edge.toTaskId();
+            taskIds.add(edge.fromTaskId());
+            taskIds.add(edge.toTaskId());
+        }
 
-        while (!queue.isEmpty()) {
-            Long current = queue.poll();
-            if (current.equals(targetTaskId)) {
-                return true;
+        Set<Long> existing = taskJdbcRepository.findIdsInProject(projectId, taskIds);
+        for (Long taskId : taskIds) {
+            if (!existing.contains(taskId)) {
+                throw new ResourceNotFoundException("Task not found in project " + projectId + ": " + taskId);
             }
-            List<Long> neighbors = adjacency.getOrDefault(current, Collections.emptyList());
-            for (Long neighbor : neighbors) {
-                if (!visited.contains(neighbor)) {
-                    visited.add(neighbor);
-                    queue.add(neighbor);
-                }
+        }
+
+        // One topological sort over existing plus new edges validates the whole batch
+        TaskGraph graph = dependencyJdbcRepository.loadEdgeGraph(projectId,
+                taskIds.stream().mapToLong(Long::longValue).toArray());
+        for (int i = 0; i < count; i++) {
+            if (graph.hasEdge(graph.indexOf(fromTaskIds[i]), graph.indexOf(toTaskIds[i]))) {
+                throw new DuplicateResourceException("Dependency already exists: " + fromTaskIds[i] + " -> " + toTaskIds[i]);
             }
         }
+        long start = System.nanoTime();
+        TaskGraph candidate = graph.withEdges(fromTaskIds, toTaskIds);
+        boolean acyclic = candidate.topologicalOrder() != null;
+        bulkCycleCheckMetrics.record(acyclic, candidate.size(), System.nanoTime() - start);
+        if (!acyclic) {
+            throw new CycleDetectedException("Adding these dependencies would create a cycle");
+        }
+
+        List<DependencyResponse> created = dependencyJdbcRepository.insertAll(projectId, fromTaskIds, toTaskIds,
+                changeTracker.versionFor(projectId));
+        dependencyGraphIndex.invalidate(projectId);
+
+        Set<Long> targets = new LinkedHashSet<>();
+        for (long toTaskId : toTaskIds) {
+            targets.add(toTaskId);
+        }
+        scheduleService.propagateFrom(projectId, targets, true);
 
-        return false;
+        return created;
     }
+
+    // As in TaskService.updateTask: the project is resolved first so the transaction can lock it before reading
+    public void deleteDependency(Long depId) {
+        Long projectId = dependencyRepository.findProjectIdById(depId)
+                .orElseThrow(() -> new ResourceNotFoundException("Dependency not found: " + depId));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            changeTracker.lock(projectId);
+            Dependency dep = dependencyRepository.findById(depId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Dependency not found: " + depId));
+            Long fromTaskId = dep.getFromTask().getId();
+            Long toTaskId = dep.getToTask().getId();
+            changeTracker.dependenciesDeleted(projectId, List.of(depId));
+            dependencyRepository.delete(dep);
+            dependencyGraphIndex.removeEdge(projectId, fromTaskId, toTaskId);
+            dependencyRepository.flush();
+            scheduleService.propagateFrom(projectId, List.of(toTaskId), true);
+        });
+    }
+
+    private record Edge(Long fromTaskId, Long toTaskId) {}
 }
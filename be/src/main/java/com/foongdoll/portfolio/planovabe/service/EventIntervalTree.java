@@ -0,0 +1,218 @@
+package com.foongdoll.portfolio.planovabe.service;
+
+import com.foongdoll.portfolio.planovabe.dto.response.CalendarEventResponse;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable interval tree over one user's events. Events are sorted by start day and the tree is implicit in the
+ * array: the middle of every range is the root of that range, and {@code maxEnd} holds the latest end day in the
+ * root's subtree. An overlap query skips every subtree that ends before the range or starts after it, so it costs
+ * O(log n + matches) however long the history is. A recurring series is one interval spanning all its occurrences,
+ * which are only expanded inside the queried range, and a page keeps only its own rows: whatever sorts after the
+ * last row it can still use is never expanded. Updates copy the arrays.
+ */
+final class EventIntervalTree {
+
+    private static final Comparator<CalendarEventResponse> BY_START =
+            Comparator.comparing(CalendarEventResponse::startDate).thenComparing(CalendarEventResponse::id);
+
+    private final CalendarEventResponse[] events;
+    private final Recurrence[] recurrences;
+    private final long[] startDays;
+    private final long[] endDays;
+    private final long[] maxEnd;
+
+    // The recurrences are parsed once per event and carried over when the tree is copied
+    private EventIntervalTree(CalendarEventResponse[] sorted, Recurrence[] recurrences) {
+        int n = sorted.length;
+        this.events = sorted;
+        this.recurrences = recurrences;
+        this.startDays = new long[n];
+        this.endDays = new long[n];
+        this.maxEnd = new long[n];
+        for (int i = 0; i < n; i++) {
+            startDays[i] = sorted[i].startDate().toEpochDay();
+            endDays[i] = recurrences[i] != null ? recurrences[i].lastEndDay() : sorted[i].endDate().toEpochDay();
+        }
+        buildMaxEnd(0, n);
+    }
+
+    static EventIntervalTree of(List<CalendarEventResponse> events) {
+        CalendarEventResponse[] sorted = events.toArray(CalendarEventResponse[]::new);
+        Arrays.sort(sorted, BY_START);
+        Recurrence[] recurrences = new Recurrence[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            recurrences[i] = Recurrence.of(sorted[i]);
+        }
+        return new EventIntervalTree(sorted, recurrences);
+    }
+
+    int size() {
+        return events.length;
+    }
+
+    /**
+     * The first {@code limit} events and occurrences overlapping the inclusive day range that sort after
+     * ({@code afterDay}, {@code afterId}) by (startDate, id), in that order. The first page passes
+     * {@link Long#MIN_VALUE} for both.
+     */
+    List<CalendarEventResponse> page(long fromDay, long toDay, long afterDay, long afterId, int limit) {
+        Page page = new Page(afterDay, afterId, limit);
+        collect(0, events.length, fromDay, toDay, page);
+        return page.rows();
+    }
+
+    /** A tree with the event added, or replacing the event with the same ID. */
+    EventIntervalTree with(CalendarEventResponse event) {
+        int existing = indexOf(event.id());
+        int n = events.length - (existing >= 0 ? 1 : 0);
+        CalendarEventResponse[] sorted = new CalendarEventResponse[n + 1];
+        Recurrence[] recurrences = new Recurrence[n + 1];
+        Recurrence recurrence = Recurrence.of(event);
+        int at = 0;
+        boolean placed = false;
+        for (int i = 0; i < events.length; i++) {
+            if (i == existing) {
+                continue;
+            }
+            if (!placed && BY_START.compare(event, events[i]) < 0) {
+                recurrences[at] = recurrence;
+                sorted[at++] = event;
+                placed = true;
+            }
+            recurrences[at] = this.recurrences[i];
+            sorted[at++] = events[i];
+        }
+        if (!placed) {
+            recurrences[at] = recurrence;
+            sorted[at] = event;
+        }
+        return new EventIntervalTree(sorted, recurrences);
+    }
+
+    EventIntervalTree without(Long eventId) {
+        int existing = indexOf(eventId);
+        if (existing < 0) {
+            return this;
+        }
+        CalendarEventResponse[] sorted = new CalendarEventResponse[events.length - 1];
+        System.arraycopy(events, 0, sorted, 0, existing);
+        System.arraycopy(events, existing + 1, sorted, existing, events.length - existing - 1);
+        Recurrence[] recurrences = new Recurrence[events.length - 1];
+        System.arraycopy(this.recurrences, 0, recurrences, 0, existing);
+        System.arraycopy(this.recurrences, existing + 1, recurrences, existing, events.length - existing - 1);
+        return new EventIntervalTree(sorted, recurrences);
+    }
+
+    private long buildMaxEnd(int lo, int hi) {
+        if (lo >= hi) {
+            return Long.MIN_VALUE;
+        }
+        int mid = (lo + hi) >>> 1;
+        long max = Math.max(endDays[mid], Math.max(buildMaxEnd(lo, mid), buildMaxEnd(mid + 1, hi)));
+        maxEnd[mid] = max;
+        return max;
+    }
+
+    // In-order; every event right of mid, and every occurrence of mid, sorts after mid itself
+    private void collect(int lo, int hi, long fromDay, long toDay, Page page) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (maxEnd[mid] < fromDay) {
+            return;
+        }
+        collect(lo, mid, fromDay, toDay, page);
+        long id = events[mid].id();
+        if (startDays[mid] > toDay || !page.sortsBeforeLast(startDays[mid], id)) {
+            return;
+        }
+        if (endDays[mid] >= fromDay) {
+            Recurrence recurrence = recurrences[mid];
+            if (recurrence == null) {
+                if (page.sortsAfterCursor(startDays[mid], id)) {
+                    page.add(events[mid], startDays[mid], id);
+                }
+            } else {
+                // Occurrences starting before the cursor's day cannot be on the page, so the walk jumps past them
+                Recurrence.Cursor cursor = recurrence.occurrences(Math.max(fromDay, page.afterDay), toDay);
+                for (long day = cursor.nextStartDay(); day != Recurrence.NO_MORE; day = cursor.nextStartDay()) {
+                    if (!page.sortsBeforeLast(day, id)) {
+                        break;
+                    }
+                    if (page.sortsAfterCursor(day, id)) {
+                        page.add(events[mid].occurrence(
+                                LocalDate.ofEpochDay(day), LocalDate.ofEpochDay(day + recurrence.spanDays())), day, id);
+                    }
+                }
+            }
+        }
+        collect(mid + 1, hi, fromDay, toDay, page);
+    }
+
+    /** The rows of one page, kept in a heap with the latest on top, so a full page only admits earlier rows. */
+    private static final class Page {
+
+        private static final Comparator<Row> BY_DAY_AND_ID =
+                Comparator.comparingLong(Row::day).thenComparingLong(Row::id);
+
+        private final long afterDay;
+        private final long afterId;
+        private final int limit;
+        private final PriorityQueue<Row> rows = new PriorityQueue<>(BY_DAY_AND_ID.reversed());
+
+        private Page(long afterDay, long afterId, int limit) {
+            this.afterDay = afterDay;
+            this.afterId = afterId;
+            this.limit = limit;
+        }
+
+        boolean sortsAfterCursor(long day, long id) {
+            return day > afterDay || day == afterDay && id > afterId;
+        }
+
+        // True while the page has room, so nothing is pruned before it fills
+        boolean sortsBeforeLast(long day, long id) {
+            if (rows.size() < limit) {
+                return true;
+            }
+            Row last = rows.peek();
+            return day < last.day() || day == last.day() && id < last.id();
+        }
+
+        void add(CalendarEventResponse event, long day, long id) {
+            rows.add(new Row(event, day, id));
+            if (rows.size() > limit) {
+                rows.poll();
+            }
+        }
+
+        List<CalendarEventResponse> rows() {
+            Row[] sorted = rows.toArray(Row[]::new);
+            Arrays.sort(sorted, BY_DAY_AND_ID);
+            List<CalendarEventResponse> result = new ArrayList<>(sorted.length);
+            for (Row row : sorted) {
+                result.add(row.event());
+            }
+            return result;
+        }
+
+        private record Row(CalendarEventResponse event, long day, long id) {}
+    }
+
+    private int indexOf(Long eventId) {
+        for (int i = 0; i < events.length; i++) {
+            if (events[i].id().equals(eventId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
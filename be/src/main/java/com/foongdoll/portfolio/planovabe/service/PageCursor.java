@@ -0,0 +1,89 @@
+package com.foongdoll.portfolio.planovabe.service;
+
+import com.foongdoll.portfolio.planovabe.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursors: the sort key of the last row of a page, joined and base64url-encoded, so clients cannot
+ * come to depend on its layout. Page sizes are clamped to {@link #MAX_LIMIT}.
+ */
+public final class PageCursor {
+
+    public static final int DEFAULT_LIMIT = 200;
+    public static final int MAX_LIMIT = 1000;
+
+    private PageCursor() {
+    }
+
+    public static String encode(Object... keys) {
+        StringBuilder joined = new StringBuilder();
+        for (Object key : keys) {
+            if (!joined.isEmpty()) {
+                joined.append('|');
+            }
+            joined.append(key);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** The cursor's keys, or {@code null} for the first page. */
+    public static Keys decode(String cursor, int keyCount) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String[] keys = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+            if (keys.length == keyCount) {
+                return new Keys(cursor, keys);
+            }
+        } catch (IllegalArgumentException ignored) {
+            // falls through to the same error as a cursor with the wrong shape
+        }
+        throw invalid(cursor);
+    }
+
+    public static int limit(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (requested < 1) {
+            throw new InvalidRequestException("limit must be positive: " + requested);
+        }
+        return Math.min(requested, MAX_LIMIT);
+    }
+
+    private static InvalidRequestException invalid(String cursor) {
+        return new InvalidRequestException("Invalid cursor: " + cursor);
+    }
+
+    public record Keys(String cursor, String[] values) {
+
+        public long longAt(int index) {
+            try {
+                return Long.parseLong(values[index]);
+            } catch (NumberFormatException e) {
+                throw invalid(cursor);
+            }
+        }
+
+        public int intAt(int index) {
+            try {
+                return Integer.parseInt(values[index]);
+            } catch (NumberFormatException e) {
+                throw invalid(cursor);
+            }
+        }
+
+        public LocalDate dateAt(int index) {
+            try {
+                return LocalDate.parse(values[index]);
+            } catch (DateTimeParseException e) {
+                throw invalid(cursor);
+            }
+        }
+    }
+}
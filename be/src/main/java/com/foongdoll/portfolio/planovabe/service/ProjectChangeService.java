@@ -0,0 +1,54 @@
+package com.foongdoll.portfolio.planovabe.service;
+
+import com.foongdoll.portfolio.planovabe.dto.response.ProjectChangesResponse;
+import com.foongdoll.portfolio.planovabe.entity.ChangeTombstone;
+import com.foongdoll.portfolio.planovabe.exception.ChangesExpiredException;
+import com.foongdoll.portfolio.planovabe.exception.ResourceNotFoundException;
+import com.foongdoll.portfolio.planovabe.repository.ChangeLogJdbcRepository;
+import com.foongdoll.portfolio.planovabe.repository.DependencyRepository;
+import com.foongdoll.portfolio.planovabe.repository.ProjectRepository;
+import com.foongdoll.portfolio.planovabe.repository.TaskRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class ProjectChangeService {
+
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final DependencyRepository dependencyRepository;
+    private final ChangeLogJdbcRepository changeLogJdbcRepository;
+
+    public ProjectChangeService(ProjectRepository projectRepository, TaskRepository taskRepository,
+                                DependencyRepository dependencyRepository,
+                                ChangeLogJdbcRepository changeLogJdbcRepository) {
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.dependencyRepository = dependencyRepository;
+        this.changeLogJdbcRepository = changeLogJdbcRepository;
+    }
+
+    /**
+     * Everything written after {@code sinceVersion}. The version is read first and all queries share one
+     * read-only transaction, so the returned version is never ahead of the rows returned with it. A version below
+     * the project's tombstone horizon may have missed deletions that are no longer recorded.
+     */
+    @Transactional(readOnly = true)
+    public ProjectChangesResponse getChanges(Long projectId, long sinceVersion) {
+        if (!projectRepository.existsById(projectId)) {
+            throw new ResourceNotFoundException("Project not found: " + projectId);
+        }
+
+        long version = changeLogJdbcRepository.currentVersion(projectId);
+        if (sinceVersion < changeLogJdbcRepository.tombstoneHorizon(projectId)) {
+            throw new ChangesExpiredException("Changes since version " + sinceVersion + " are no longer available");
+        }
+        return new ProjectChangesResponse(
+                projectId,
+                version,
+                taskRepository.findResponsesChangedSince(projectId, sinceVersion),
+                dependencyRepository.findResponsesChangedSince(projectId, sinceVersion),
+                changeLogJdbcRepository.findDeletedIds(projectId, ChangeTombstone.TASK, sinceVersion),
+                changeLogJdbcRepository.findDeletedIds(projectId, ChangeTombstone.DEPENDENCY, sinceVersion));
+    }
+}
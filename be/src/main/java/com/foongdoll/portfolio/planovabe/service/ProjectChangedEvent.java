@@ -0,0 +1,4 @@
+package com.foongdoll.portfolio.planovabe.service;
+
+/** Published once per write transaction and project, when the transaction allocates its change version. */
+public record ProjectChangedEvent(Long projectId, long version) {}
@@ -0,0 +1,236 @@
+package com.foongdoll.portfolio.planovabe.service;
+
+import com.foongdoll.portfolio.planovabe.dto.response.ProjectChangesResponse;
+import com.foongdoll.portfolio.planovabe.exception.ResourceNotFoundException;
+import com.foongdoll.portfolio.planovabe.repository.ChangeLogJdbcRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes committed project changes to SSE subscribers. A commit only marks the project dirty; one fetch of the
+ * delta since the last broadcast then serves every subscriber of the project, so bursts of commits coalesce.
+ * Each subscriber has a bounded queue drained on the broadcaster's pool: if a slow client lets it fill up, the
+ * queue is replaced by a single {@code resync} event and the client catches up through the delta sync endpoint.
+ * Fetches and sends block, so they run on virtual threads and only take {@link ReentrantLock}s.
+ */
+@Component
+public class ProjectEventBroadcaster {
+
+    private static final int SUBSCRIBER_BUFFER = 64;
+    private static final long EMITTER_TIMEOUT_MS = Duration.ofMinutes(30).toMillis();
+    private static final long HEARTBEAT_SECONDS = 20;
+
+    private final ProjectChangeService projectChangeService;
+    private final ChangeLogJdbcRepository changeLogJdbcRepository;
+    private final ConcurrentMap<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("project-events-", 0).factory());
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("project-events-heartbeat").daemon().factory());
+
+    public ProjectEventBroadcaster(ProjectChangeService projectChangeService,
+                                   ChangeLogJdbcRepository changeLogJdbcRepository) {
+        this.projectChangeService = projectChangeService;
+        this.changeLogJdbcRepository = changeLogJdbcRepository;
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /** The first event is {@code ready} with the current version; anything older should be fetched as a delta. */
+    public SseEmitter subscribe(Long projectId) {
+        long version = changeLogJdbcRepository.currentVersion(projectId);
+        Subscriber subscriber = new Subscriber(new SseEmitter(EMITTER_TIMEOUT_MS));
+        channels.compute(projectId, (id, channel) -> {
+            Channel result = channel != null ? channel : new Channel(version);
+            result.subscribers.add(subscriber);
+            return result;
+        });
+
+        Runnable remove = () -> unsubscribe(projectId, subscriber);
+        subscriber.emitter.onCompletion(remove);
+        subscriber.emitter.onTimeout(remove);
+        subscriber.emitter.onError(e -> remove.run());
+
+        subscriber.offer(new Event("ready", version, Map.of("version", version)));
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        Channel channel = channels.get(event.projectId());
+        if (channel != null && channel.dirty.compareAndSet(false, true)) {
+            executor.execute(() -> broadcast(event.projectId(), channel));
+        }
+    }
+
+    /** Sends an event outside the change stream, e.g. a job notification, to the project's current subscribers. */
+    public void publish(Long projectId, String name, Object data) {
+        Channel channel = channels.get(projectId);
+        if (channel == null) {
+            return;
+        }
+        channel.lock.lock();
+        try {
+            Event event = new Event(name, channel.version, data);
+            for (Subscriber subscriber : channel.subscribers) {
+                subscriber.offer(event);
+            }
+        } finally {
+            channel.lock.unlock();
+        }
+    }
+
+    private void broadcast(Long projectId, Channel channel) {
+        channel.lock.lock();
+        try {
+            channel.dirty.set(false);
+            ProjectChangesResponse changes;
+            try {
+                changes = projectChangeService.getChanges(projectId, channel.version);
+            } catch (ResourceNotFoundException e) {
+                channels.remove(projectId, channel);
+                channel.subscribers.forEach(subscriber -> subscriber.emitter.complete());
+                return;
+            }
+            if (changes.version() <= channel.version) {
+                return;
+            }
+            // "since" lets a client that is further behind fall back to the delta sync endpoint
+            Event event = new Event("changes", changes.version(), Map.of("since", channel.version, "changes", changes));
+            channel.version = changes.version();
+            for (Subscriber subscriber : channel.subscribers) {
+                subscriber.offer(event);
+            }
+        } finally {
+            channel.lock.unlock();
+        }
+    }
+
+    private void sendHeartbeats() {
+        for (Channel channel : channels.values()) {
+            for (Subscriber subscriber : channel.subscribers) {
+                subscriber.offer(Event.HEARTBEAT);
+            }
+        }
+    }
+
+    private void unsubscribe(Long projectId, Subscriber subscriber) {
+        channels.computeIfPresent(projectId, (id, channel) -> {
+            channel.subscribers.remove(subscriber);
+            return channel.subscribers.isEmpty() ? null : channel;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeat.shutdownNow();
+        executor.shutdownNow();
+        channels.values().forEach(channel -> channel.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        channels.clear();
+    }
+
+    private static final class Channel {
+
+        final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        final AtomicBoolean dirty = new AtomicBoolean();
+        final ReentrantLock lock = new ReentrantLock();
+        long version;
+
+        Channel(long version) {
+            this.version = version;
+        }
+    }
+
+    private record Event(String name, long version, Object data) {
+
+        static final Event HEARTBEAT = new Event(null, 0, null);
+
+        SseEmitter.SseEventBuilder toSse() {
+            if (name == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event().name(name).id(Long.toString(version)).data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private final class Subscriber {
+
+        final SseEmitter emitter;
+        private final ArrayDeque<Event> queue = new ArrayDeque<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private boolean draining;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(Event event) {
+            lock.lock();
+            try {
+                if (event == Event.HEARTBEAT && !queue.isEmpty()) {
+                    return;
+                }
+                if (queue.size() >= SUBSCRIBER_BUFFER) {
+                    // The client fell too far behind: everything queued is superseded by one resync
+                    queue.clear();
+                    queue.add(new Event("resync", event.version(), Map.of("version", event.version())));
+                } else {
+                    queue.add(event);
+                }
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            } finally {
+                lock.unlock();
+            }
+            executor.execute(this::drain);
+        }
+
+        private void drain() {
+            while (true) {
+                Event event;
+                lock.lock();
+                try {
+                    event = queue.poll();
+                    if (event == null) {
+                        draining = false;
+                        return;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                try {
+                    emitter.send(event.toSse());
+                } catch (IOException | IllegalStateException e) {
+                    lock.lock();
+                    try {
+                        queue.clear();
+                        draining = false;
+                    } finally {
+                        lock.unlock();
+                    }
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.foongdoll.portfolio.planovabe.service;
+
+import com.foongdoll.portfolio.planovabe.dto.response.DependencyResponse;
+import com.foongdoll.portfolio.planovabe.dto.response.ExportRecord;
+import com.foongdoll.portfolio.planovabe.dto.response.ProjectResponse;
+import com.foongdoll.portfolio.planovabe.dto.response.TaskResponse;
+import com.foongdoll.portfolio.planovabe.repository.DependencyRepository;
+import com.foongdoll.portfolio.planovabe.repository.TaskRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.SequenceWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes a project as NDJSON: one {@link ExportRecord} per line, the project first, then every task, then every
+ * dependency. Rows are read as projections through server-side cursors and written as they arrive, so nothing is
+ * attached to the persistence context and memory use stays flat however large the project is.
+ */
+@Service
+public class ProjectExportService {
+
+    private final TaskRepository taskRepository;
+    private final DependencyRepository dependencyRepository;
+    private final ObjectMapper objectMapper;
+
+    public ProjectExportService(TaskRepository taskRepository, DependencyRepository dependencyRepository,
+                                ObjectMapper objectMapper) {
+        this.taskRepository = taskRepository;
+        this.dependencyRepository = dependencyRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public void writeExport(ProjectResponse project, OutputStream out, boolean gzip) {
+        try (OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+             SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(target)) {
+            writer.write(ExportRecord.project(project));
+            try (Stream<TaskResponse> tasks = taskRepository.streamResponsesByProjectId(project.id())) {
+                tasks.forEach(task -> writer.write(ExportRecord.task(task)));
+            }
+            try (Stream<DependencyResponse> dependencies = dependencyRepository.streamResponsesByProjectId(project.id())) {
+                dependencies.forEach(dependency -> writer.write(ExportRecord.dependency(dependency)));
+            }
+            // The separator only goes between records, so the last line is terminated here
+            writer.flush();
+            target.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package com.foongdoll.portfolio.planovabe.service;
+
+import com.foongdoll.portfolio.planovabe.dto.request.ImportRecord;
+import com.foongdoll.portfolio.planovabe.dto.response.DependencyResponse;
+import com.foongdoll.portfolio.planovabe.dto.response.ProjectImportResponse;
+import com.foongdoll.portfolio.planovabe.dto.response.ProjectResponse;
+import com.foongdoll.portfolio.planovabe.dto.response.TaskResponse;
+import com.foongdoll.portfolio.planovabe.entity.Project;
+import com.foongdoll.portfolio.planovabe.entity.Task;
+import com.foongdoll.portfolio.planovabe.entity.TaskStatus;
+import com.foongdoll.portfolio.planovabe.exception.CycleDetectedException;
+import com.foongdoll.portfolio.planovabe.exception.InvalidRequestException;
+import com.foongdoll.portfolio.planovabe.repository.DependencyJdbcRepository;
+import com.foongdoll.portfolio.planovabe.repository.ProjectJdbcRepository;
+import com.foongdoll.portfolio.planovabe.repository.ProjectRepository;
+import com.foongdoll.portfolio.planovabe.repository.TaskJdbcRepository;
+import com.foongdoll.portfolio.planovabe.schedule.TaskGraph;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Creates a project from an NDJSON stream in the export's format. Tasks are inserted as they are read, one JDBC
+ * batch and one transaction per chunk, so neither the request nor the database holds the whole import at once.
+ * Only the external-to-generated ID mapping and the dependency edges are kept, as primitive arrays; once the
+ * stream ends they are validated together in one topological sort before parents are linked and dependencies
+ * inserted. A failed import deletes the project it was filling.
+ */
+@Service
+public class ProjectImportService {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final long NO_PARENT = Long.MIN_VALUE;
+
+    private final ProjectRepository projectRepository;
+    private final ProjectJdbcRepository projectJdbcRepository;
+    private final TaskJdbcRepository taskJdbcRepository;
+    private final DependencyJdbcRepository dependencyJdbcRepository;
+    private final ChangeTracker changeTracker;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public ProjectImportService(ProjectRepository projectRepository, ProjectJdbcRepository projectJdbcRepository,
+                                TaskJdbcRepository taskJdbcRepository, DependencyJdbcRepository dependencyJdbcRepository,
+                                ChangeTracker changeTracker, TransactionTemplate transactionTemplate,
+                                ObjectMapper objectMapper) {
+        this.projectRepository = projectRepository;
+        this.projectJdbcRepository = projectJdbcRepository;
+        this.taskJdbcRepository = taskJdbcRepository;
+        this.dependencyJdbcRepository = dependencyJdbcRepository;
+        this.changeTracker = changeTracker;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public ProjectImportResponse importProject(InputStream body, boolean gzip, String name) {
+        try (InputStream in = gzip ? new GZIPInputStream(body, 64 * 1024) : body;
+             MappingIterator<ImportRecord> records = objectMapper.readerFor(ImportRecord.class).readValues(in)) {
+            ImportRecord first = records.hasNextValue() ? records.nextValue() : null;
+            if (first == null || !"project".equals(first.type())) {
+                throw new InvalidRequestException("Import must start with a project record");
+            }
+            ProjectResponse source = read(first, ProjectResponse.class, 1);
+            String projectName = name != null && !name.isBlank() ? name : source.name();
+            if (projectName == null || projectName.isBlank()) {
+                throw new InvalidRequestException("Project name is required");
+            }
+
+            Project project = transactionTemplate.execute(status -> projectRepository.save(Project.builder()
+                    .name(projectName)
+                    .description(source.description())
+                    .build()));
+            try {
+                return importRecords(project, records);
+            } catch (RuntimeException e) {
+                // Chunks are committed as they go, so the partial project is dropped as a whole; a failed cleanup
+                // must not hide why the import failed
+                try {
+                    transactionTemplate.executeWithoutResult(status -> projectJdbcRepository.deleteById(project.getId()));
+                } catch (RuntimeException cleanup) {
+                    e.addSuppressed(cleanup);
+                }
+                throw e;
+            }
+        } catch (JacksonException e) {
+            throw new InvalidRequestException("Malformed import: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ProjectImportResponse importRecords(Project project, MappingIterator<ImportRecord> records) {
+        List<Task> chunk = new ArrayList<>(CHUNK_SIZE);
+        LongList externalIds = new LongList();
+        LongList externalParentIds = new LongList();
+        LongList generatedIds = new LongList();
+        LongList edgeFrom = new LongList();
+        LongList edgeTo = new LongList();
+
+        int line = 1;
+        while (records.hasNextValue()) {
+            ImportRecord record = records.nextValue();
+            line++;
+            switch (record.type() != null ? record.type() : "") {
+                case "task" -> {
+                    TaskResponse source = read(record, TaskResponse.class, line);
+                    if (source.id() == null) {
+                        throw new InvalidRequestException("Task without id on line " + line);
+                    }
+                    chunk.add(newTask(project, source, line));
+                    externalIds.add(source.id());
+                    externalParentIds.add(source.parentId() != null ? source.parentId() : NO_PARENT);
+                    if (chunk.size() == CHUNK_SIZE) {
+                        insertTasks(project.getId(), chunk, generatedIds);
+                    }
+                }
+                case "dependency" -> {
+                    DependencyResponse source = read(record, DependencyResponse.class, line);
+                    if (source.fromTaskId() == null || source.toTaskId() == null) {
+                        throw new InvalidRequestException("Dependency without task ids on line " + line);
+                    }
+                    edgeFrom.add(source.fromTaskId());
+                    edgeTo.add(source.toTaskId());
+                }
+                default -> throw new InvalidRequestException("Unknown record type on line " + line + ": " + record.type());
+            }
+        }
+        insertTasks(project.getId(), chunk, generatedIds);
+
+        TaskGraph graph = validate(externalIds.toArray(), externalParentIds.toArray(), edgeFrom.toArray(), edgeTo.toArray());
+
+        // Generated IDs by graph index, so the graph doubles as the external ID lookup
+        long[] generatedByIndex = new long[graph.size()];
+        for (int i = 0; i < externalIds.size(); i++) {
+            generatedByIndex[graph.indexOf(externalIds.get(i))] = generatedIds.get(i);
+        }
+        linkParents(project.getId(), graph, generatedByIndex, generatedIds, externalParentIds);
+        insertDependencies(project.getId(), graph, generatedByIndex, edgeFrom, edgeTo);
+
+        return new ProjectImportResponse(ProjectResponse.from(project), externalIds.size(), edgeFrom.size());
+    }
+
+    private TaskGraph validate(long[] externalIds, long[] externalParentIds, long[] edgeFrom, long[] edgeTo) {
+        long[] sorted = externalIds.clone();
+        Arrays.sort(sorted);
+        TaskGraph.Builder builder = TaskGraph.builder(sorted.length, edgeFrom.length);
+        for (int i = 0; i < sorted.length; i++) {
+            if (i > 0 && sorted[i] == sorted[i - 1]) {
+                throw new InvalidRequestException("Duplicate task id in import: " + sorted[i]);
+            }
+            builder.addTask(sorted[i]);
+        }
+        for (int i = 0; i < externalParentIds.length; i++) {
+            long parentId = externalParentIds[i];
+            if (parentId == NO_PARENT) {
+                continue;
+            }
+            if (parentId == externalIds[i]) {
+                throw new InvalidRequestException("Task cannot be its own parent: " + parentId);
+            }
+            if (Arrays.binarySearch(sorted, parentId) < 0) {
+                throw new InvalidRequestException("Parent task not found in import: " + parentId);
+            }
+        }
+        for (int i = 0; i < edgeFrom.length; i++) {
+            if (edgeFrom[i] == edgeTo[i]) {
+                throw new InvalidRequestException("Cannot create self-dependency: " + edgeFrom[i]);
+            }
+            if (Arrays.binarySearch(sorted, edgeFrom[i]) < 0 || Arrays.binarySearch(sorted, edgeTo[i]) < 0) {
+                throw new InvalidRequestException("Dependency references a task not in the import: "
+                        + edgeFrom[i] + " -> " + edgeTo[i]);
+            }
+            builder.addEdge(edgeFrom[i], edgeTo[i]);
+        }
+        TaskGraph graph = builder.build();
+        checkParentChains(graph, externalIds, externalParentIds);
+
+        int[] seenFrom = new int[graph.size()];
+        for (int v = 0; v < graph.size(); v++) {
+            for (int e = graph.successorStart(v); e < graph.successorEnd(v); e++) {
+                int w = graph.successorAt(e);
+                if (seenFrom[w] == v + 1) {
+                    throw new InvalidRequestException("Duplicate dependency in import: "
+                            + graph.taskId(v) + " -> " + graph.taskId(w));
+                }
+                seenFrom[w] = v + 1;
+            }
+        }
+        if (graph.topologicalOrder() == null) {
+            throw new CycleDetectedException("Imported dependencies contain a cycle");
+        }
+        return graph;
+    }
+
+    // Walks up from every task, stamping the walk with its start; reaching a stamp of the same walk closes a cycle
+    private static void checkParentChains(TaskGraph graph, long[] externalIds, long[] externalParentIds) {
+        int[] parentOf = new int[graph.size()];
+        Arrays.fill(parentOf, -1);
+        for (int i = 0; i < externalIds.length; i++) {
+            if (externalParentIds[i] != NO_PARENT) {
+                parentOf[graph.indexOf(externalIds[i])] = graph.indexOf(externalParentIds[i]);
+            }
+        }
+        int[] walkedFrom = new int[graph.size()];
+        for (int v = 0; v < graph.size(); v++) {
+            int u = v;
+            while (u >= 0 && walkedFrom[u] == 0) {
+                walkedFrom[u] = v + 1;
+                u = parentOf[u];
+            }
+            if (u >= 0 && walkedFrom[u] == v + 1) {
+                throw new InvalidRequestException("Parent cycle in import at task: " + graph.taskId(u));
+            }
+        }
+    }
+
+    private void insertTasks(Long projectId, List<Task> chunk, LongList generatedIds) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            long changeVersion = changeTracker.versionFor(projectId);
+            chunk.forEach(task -> task.setChangeVersion(changeVersion));
+            taskJdbcRepository.insertAll(chunk);
+        });
+        for (Task task : chunk) {
+            generatedIds.add(task.getId());
+        }
+        chunk.clear();
+    }
+
+    private void linkParents(Long projectId, TaskGraph graph, long[] generatedByIndex, LongList generatedIds,
+                             LongList externalParentIds) {
+        List<Task> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (int i = 0; i < generatedIds.size(); i++) {
+            long parentId = externalParentIds.get(i);
+            if (parentId == NO_PARENT) {
+                continue;
+            }
+            chunk.add(Task.builder()
+                    .id(generatedIds.get(i))
+                    .parent(Task.builder().id(generatedByIndex[graph.indexOf(parentId)]).build())
+                    .version(0L)
+                    .build());
+            if (chunk.size() == CHUNK_SIZE) {
+                updateParents(projectId, chunk);
+            }
+        }
+        updateParents(projectId, chunk);
+    }
+
+    private void updateParents(Long projectId, List<Task> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            long changeVersion = changeTracker.versionFor(projectId);
+            chunk.forEach(task -> task.setChangeVersion(changeVersion));
+            taskJdbcRepository.updateParents(chunk);
+        });
+        chunk.clear();
+    }
+
+    private void insertDependencies(Long projectId, TaskGraph graph, long[] generatedByIndex,
+                                    LongList edgeFrom, LongList edgeTo) {
+        for (int from = 0; from < edgeFrom.size(); from += CHUNK_SIZE) {
+            int size = Math.min(CHUNK_SIZE, edgeFrom.size() - from);
+            long[] fromTaskIds = new long[size];
+            long[] toTaskIds = new long[size];
+            for (int i = 0; i < size; i++) {
+                fromTaskIds[i] = generatedByIndex[graph.indexOf(edgeFrom.get(from + i))];
+                toTaskIds[i] = generatedByIndex[graph.indexOf(edgeTo.get(from + i))];
+            }
+            transactionTemplate.executeWithoutResult(status -> dependencyJdbcRepository.insertAll(
+                    projectId, fromTaskIds, toTaskIds, changeTracker.versionFor(projectId)));
+        }
+    }
+
+    private static Task newTask(Project project, TaskResponse source, int line) {
+        if (source.title() == null || source.title().isBlank()) {
+            throw new InvalidRequestException("Task without title on line " + line);
+        }
+        TaskStatus status = TaskStatus.TODO;
+        if (source.status() != null) {
+            try {
+                status = TaskStatus.valueOf(source.status());
+            } catch (IllegalArgumentException e) {
+                throw new InvalidRequestException("Unknown task status on line " + line + ": " + source.status());
+            }
+        }
+        LocalDate endDate = source.endDate();
+        if (endDate == null && source.startDate() != null && source.durationDays() != null) {
+            endDate = source.startDate().plusDays(source.durationDays() - 1);
+        }
+        return Task.builder()
+                .project(project)
+                .title(source.title())
+                .description(source.description())
+                .status(status)
+                .startDate(source.startDate())
+                .durationDays(source.durationDays())
+                .endDate(endDate)
+                .sortOrder(source.sortOrder() != null ? source.sortOrder() : 0)
+                .positionX(source.positionX())
+                .positionY(source.positionY())
+                .color(source.color())
+                .build();
+    }
+
+    private <T> T read(ImportRecord record, Class<T> type, int line) {
+        if (record.data() == null || record.data().isNull()) {
+            throw new InvalidRequestException("Record without data on line " + line);
+        }
+        try {
+            return objectMapper.treeToValue(record.data(), type);
+        } catch (JacksonException e) {
+            throw new InvalidRequestException("Malformed " + record.type() + " on line " + line + ": "
+                    + e.getOriginalMessage());
+        }
+    }
+
+    private static final class LongList {
+
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long get(int index) {
+            return values[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
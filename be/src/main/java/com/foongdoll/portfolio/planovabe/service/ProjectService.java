@@ -1,11 +1,15 @@
 package com.foongdoll.portfolio.planovabe.service;
 
+import com.foongdoll.portfolio.planovabe.dto.request.CloneProjectRequest;
 import com.foongdoll.portfolio.planovabe.dto.request.CreateProjectRequest;
 import com.foongdoll.portfolio.planovabe.dto.request.UpdateProjectRequest;
+import com.foongdoll.portfolio.planovabe.dto.response.PageResponse;
 import com.foongdoll.portfolio.planovabe.dto.response.ProjectResponse;
 import com.foongdoll.portfolio.planovabe.entity.Project;
 import com.foongdoll.portfolio.planovabe.exception.ResourceNotFoundException;
+import com.foongdoll.portfolio.planovabe.repository.ProjectJdbcRepository;
 import com.foongdoll.portfolio.planovabe.repository.ProjectRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,15 +19,26 @@ import java.util.List;
 public class ProjectService {
 
     private final ProjectRepository projectRepository;
+    private final ProjectJdbcRepository projectJdbcRepository;
+    private final DependencyGraphIndex dependencyGraphIndex;
+    private final ChangeTracker changeTracker;
 
-    public ProjectService(ProjectRepository projectRepository) {
+    public ProjectService(ProjectRepository projectRepository, ProjectJdbcRepository projectJdbcRepository,
+                          DependencyGraphIndex dependencyGraphIndex, ChangeTracker changeTracker) {
         this.projectRepository = projectRepository;
+        this.projectJdbcRepository = projectJdbcRepository;
+        this.dependencyGraphIndex = dependencyGraphIndex;
+        this.changeTracker = changeTracker;
     }
 
-    public List<ProjectResponse> getAllProjects() {
-        return projectRepository.findAll().stream()
+    public PageResponse<ProjectResponse> getAllProjects(String cursor, Integer limit) {
+        PageCursor.Keys after = PageCursor.decode(cursor, 1);
+        int size = PageCursor.limit(limit);
+        List<ProjectResponse> rows = projectRepository.findByIdGreaterThanOrderByIdAsc(
+                after != null ? after.longAt(0) : 0L, Limit.of(size + 1)).stream()
                 .map(ProjectResponse::from)
                 .toList();
+        return PageResponse.of(rows, size, project -> PageCursor.encode(project.id()));
     }
 
     public ProjectResponse getProject(Long id) {
@@ -39,6 +54,22 @@ public class ProjectService {
         return ProjectResponse.from(projectRepository.save(project));
     }
 
+    /** Copies the project with all its tasks and dependencies in the database, optionally shifting every date. */
+    @Transactional
+    public ProjectResponse cloneProject(Long id, CloneProjectRequest request) {
+        String name = request != null && request.name() != null && !request.name().isBlank() ? request.name() : null;
+        int shiftDays = request != null && request.shiftDays() != null ? request.shiftDays() : 0;
+
+        // Held until commit, so the source's tasks and edges cannot change between the copy statements
+        changeTracker.lock(id);
+        Long cloneId = projectJdbcRepository.insertCopy(id, name);
+        if (cloneId == null) {
+            throw new ResourceNotFoundException("Project not found: " + id);
+        }
+        projectJdbcRepository.copyTasks(id, cloneId, shiftDays, changeTracker.versionFor(cloneId));
+        return getProject(cloneId);
+    }
+
     @Transactional
     public ProjectResponse updateProject(Long id, UpdateProjectRequest request) {
         Project project = findProject(id);
@@ -51,6 +82,7 @@ public class ProjectService {
     public void deleteProject(Long id) {
         Project project = findProject(id);
         projectRepository.delete(project);
+        dependencyGraphIndex.invalidate(id);
     }
 
     private Project findProject(Long id) {
@@ -0,0 +1,60 @@
+package com.foongdoll.portfolio.planovabe.service;
+
+import com.foongdoll.portfolio.planovabe.dto.response.DependencyResponse;
+import com.foongdoll.portfolio.planovabe.dto.response.ProjectResponse;
+import com.foongdoll.portfolio.planovabe.dto.response.TaskResponse;
+import com.foongdoll.portfolio.planovabe.repository.ChangeLogJdbcRepository;
+import com.foongdoll.portfolio.planovabe.repository.DependencyRepository;
+import com.foongdoll.portfolio.planovabe.repository.TaskRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.OutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Writes a whole board ({@code {"project": ..., "version": n, "tasks": [...], "dependencies": [...]}}) straight to
+ * the response stream. Rows are serialized as they come off the two cursors, so memory use does not grow with
+ * project size. {@code version} is the change version to pass to the delta sync endpoint next.
+ */
+@Service
+public class ProjectSnapshotService {
+
+    private final TaskRepository taskRepository;
+    private final DependencyRepository dependencyRepository;
+    private final ChangeLogJdbcRepository changeLogJdbcRepository;
+    private final ObjectMapper objectMapper;
+
+    public ProjectSnapshotService(TaskRepository taskRepository, DependencyRepository dependencyRepository,
+                                  ChangeLogJdbcRepository changeLogJdbcRepository, ObjectMapper objectMapper) {
+        this.taskRepository = taskRepository;
+        this.dependencyRepository = dependencyRepository;
+        this.changeLogJdbcRepository = changeLogJdbcRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public void writeSnapshot(ProjectResponse project, OutputStream out) {
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writePOJOProperty("project", project);
+            generator.writeNumberProperty("version", changeLogJdbcRepository.currentVersion(project.id()));
+
+            generator.writeArrayPropertyStart("tasks");
+            try (Stream<TaskResponse> tasks = taskRepository.streamResponsesByProjectId(project.id())) {
+                tasks.forEach(generator::writePOJO);
+            }
+            generator.writeEndArray();
+
+            generator.writeArrayPropertyStart("dependencies");
+            try (Stream<DependencyResponse> dependencies = dependencyRepository.streamResponsesByProjectId(project.id())) {
+                dependencies.forEach(generator::writePOJO);
+            }
+            generator.writeEndArray();
+
+            generator.writeEndObject();
+        }
+    }
+}
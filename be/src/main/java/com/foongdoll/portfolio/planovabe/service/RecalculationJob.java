@@ -0,0 +1,92 @@
+package com.foongdoll.portfolio.planovabe.service;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One queued or executed recalculation of a project. Every request that coalesced into the job shares it, and
+ * {@link #completion()} completes once the project has been handed on: with the job on success, exceptionally with
+ * the cause otherwise.
+ */
+public class RecalculationJob {
+
+    public enum Status { QUEUED, RUNNING, SUCCEEDED, FAILED }
+
+    private final String id = UUID.randomUUID().toString();
+    private final Long projectId;
+    private final Instant submittedAt = Instant.now();
+    private final CompletableFuture<RecalculationJob> completion = new CompletableFuture<>();
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile int changedTasks;
+    private volatile String error;
+    private volatile Throwable cause;
+
+    RecalculationJob(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public int getChangedTasks() {
+        return changedTasks;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public CompletableFuture<RecalculationJob> completion() {
+        return completion;
+    }
+
+    void started() {
+        startedAt = Instant.now();
+        status = Status.RUNNING;
+    }
+
+    void succeeded(int changedTasks) {
+        this.changedTasks = changedTasks;
+        finishedAt = Instant.now();
+        status = Status.SUCCEEDED;
+    }
+
+    void failed(Throwable cause) {
+        this.cause = cause;
+        error = cause.getMessage();
+        finishedAt = Instant.now();
+        status = Status.FAILED;
+    }
+
+    void complete() {
+        if (cause != null) {
+            completion.completeExceptionally(cause);
+        } else {
+            completion.complete(this);
+        }
+    }
+}
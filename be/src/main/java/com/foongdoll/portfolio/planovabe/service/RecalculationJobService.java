@@ -0,0 +1,172 @@
+package com.foongdoll.portfolio.planovabe.service;
+
+import com.foongdoll.portfolio.planovabe.dto.response.RecalculationJobResponse;
+import com.foongdoll.portfolio.planovabe.exception.ResourceNotFoundException;
+import com.foongdoll.portfolio.planovabe.exception.ServiceUnavailableException;
+import com.foongdoll.portfolio.planovabe.repository.ProjectRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs project recalculations on a bounded worker pool, at most one at a time per project. A request for a
+ * project that already has a queued job joins that job; a request while a job is running queues exactly one
+ * follow-up, since the running job may already have read the dates the request wants recomputed.
+ * Finished jobs stay available for polling for a while and are announced to the project's SSE subscribers.
+ */
+@Service
+public class RecalculationJobService {
+
+    private static final long MAX_RETAINED_JOBS = 10_000;
+    private static final Duration JOB_RETENTION = Duration.ofMinutes(15);
+
+    private final ScheduleService scheduleService;
+    private final ProjectRepository projectRepository;
+    private final ProjectEventBroadcaster projectEventBroadcaster;
+    private final ThreadPoolExecutor executor;
+    private final Map<Long, ProjectQueue> queues = new ConcurrentHashMap<>();
+    private final Cache<String, RecalculationJob> jobs = Caffeine.newBuilder()
+            .maximumSize(MAX_RETAINED_JOBS)
+            .expireAfterWrite(JOB_RETENTION)
+            .build();
+    private final Counter coalesced;
+    private final Counter rejected;
+
+    public RecalculationJobService(ScheduleService scheduleService, ProjectRepository projectRepository,
+                                   ProjectEventBroadcaster projectEventBroadcaster, RecalculationProperties props,
+                                   MeterRegistry registry) {
+        this.scheduleService = scheduleService;
+        this.projectRepository = projectRepository;
+        this.projectEventBroadcaster = projectEventBroadcaster;
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                props.threads(), props.threads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(props.queueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "recalculation-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.coalesced = Counter.builder("schedule.recalculation.coalesced").register(registry);
+        this.rejected = Counter.builder("schedule.recalculation.rejected").register(registry);
+        Gauge.builder("schedule.recalculation.queue.depth", executor, e -> e.getQueue().size()).register(registry);
+        Gauge.builder("schedule.recalculation.active", executor, ThreadPoolExecutor::getActiveCount).register(registry);
+    }
+
+    public RecalculationJob submit(Long projectId) {
+        if (!projectRepository.existsById(projectId)) {
+            throw new ResourceNotFoundException("Project not found: " + projectId);
+        }
+
+        RecalculationJob[] result = new RecalculationJob[1];
+        boolean[] joined = new boolean[1];
+        boolean[] start = new boolean[1];
+        queues.compute(projectId, (id, queue) -> {
+            ProjectQueue q = queue != null ? queue : new ProjectQueue();
+            if (q.pending != null) {
+                result[0] = q.pending;
+                joined[0] = true;
+                return q;
+            }
+            RecalculationJob job = new RecalculationJob(projectId);
+            jobs.put(job.getId(), job);
+            if (q.running == null) {
+                q.running = job;
+                start[0] = true;
+            } else {
+                q.pending = job;
+            }
+            result[0] = job;
+            return q;
+        });
+
+        if (joined[0]) {
+            coalesced.increment();
+        }
+        if (start[0] && !execute(result[0])) {
+            throw new ServiceUnavailableException("Too many recalculations queued, try again shortly");
+        }
+        return result[0];
+    }
+
+    public RecalculationJobResponse getJob(Long projectId, String jobId) {
+        RecalculationJob job = jobs.getIfPresent(jobId);
+        if (job == null || !job.getProjectId().equals(projectId)) {
+            throw new ResourceNotFoundException("Recalculation job not found: " + jobId);
+        }
+        return RecalculationJobResponse.from(job);
+    }
+
+    private boolean execute(RecalculationJob job) {
+        try {
+            executor.execute(() -> run(job));
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            job.failed(new ServiceUnavailableException("Too many recalculations queued, try again shortly"));
+            finish(job);
+            job.complete();
+            return false;
+        }
+    }
+
+    private void run(RecalculationJob job) {
+        job.started();
+        try {
+            job.succeeded(scheduleService.recalculate(job.getProjectId()));
+        } catch (RuntimeException e) {
+            job.failed(e);
+        } catch (Error e) {
+            job.failed(e);
+            throw e;
+        } finally {
+            // Waiting callers continue on this thread, so the project is handed on before they are released.
+            // Also on an Error, or the project's queue would keep a job that never finishes
+            finish(job);
+            job.complete();
+        }
+    }
+
+    // Hands the project over to its queued follow-up, if any, and announces the finished job
+    private void finish(RecalculationJob job) {
+        RecalculationJob[] next = new RecalculationJob[1];
+        queues.computeIfPresent(job.getProjectId(), (id, queue) -> {
+            if (queue.running != job) {
+                return queue;
+            }
+            queue.running = queue.pending;
+            queue.pending = null;
+            next[0] = queue.running;
+            return queue.running != null ? queue : null;
+        });
+        projectEventBroadcaster.publish(job.getProjectId(), "recalculation", RecalculationJobResponse.from(job));
+        if (next[0] != null) {
+            execute(next[0]);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private static final class ProjectQueue {
+        RecalculationJob running;
+        RecalculationJob pending;
+    }
+}
@@ -0,0 +1,9 @@
+package com.foongdoll.portfolio.planovabe.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "schedule.recalculation")
+public record RecalculationProperties(
+    int threads,
+    int queueCapacity
+) {}
@@ -0,0 +1,190 @@
+package com.foongdoll.portfolio.planovabe.service;
+
+import com.foongdoll.portfolio.planovabe.dto.response.CalendarEventResponse;
+import com.foongdoll.portfolio.planovabe.dto.response.RecurrenceResponse;
+import com.foongdoll.portfolio.planovabe.entity.RecurrenceFrequency;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.util.Arrays;
+
+/**
+ * A series' recurrence rule in epoch days, expanded on demand. Occurrences are never materialized: a
+ * {@link Cursor} jumps straight to the first occurrence that can reach the requested window and walks forward
+ * with plain arithmetic until it leaves it. Like RRULE, a monthly series skips months that lack its day of month,
+ * and exceptions remove occurrences without giving back their place in the count.
+ */
+final class Recurrence {
+
+    static final long NO_MORE = Long.MIN_VALUE;
+    static final long UNBOUNDED = Long.MAX_VALUE;
+
+    private static final long MAX_DAY = LocalDate.MAX.toEpochDay();
+    private static final long MAX_MONTH = Year.MAX_VALUE * 12L + 11;
+
+    private final RecurrenceFrequency frequency;
+    private final int interval;
+    private final long startDay;
+    private final long startMonth;
+    private final int dayOfMonth;
+    private final int spanDays;
+    private final long lastStartDay;
+    private final long[] exceptionDays;
+
+    private Recurrence(RecurrenceFrequency frequency, int interval, long startDay, int spanDays, Integer count,
+                       LocalDate until, long[] exceptionDays) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.startDay = startDay;
+        LocalDate start = LocalDate.ofEpochDay(startDay);
+        this.startMonth = start.getYear() * 12L + start.getMonthValue() - 1;
+        this.dayOfMonth = start.getDayOfMonth();
+        this.spanDays = spanDays;
+        this.exceptionDays = exceptionDays;
+        long last = until != null ? until.toEpochDay() : UNBOUNDED;
+        if (count != null) {
+            last = Math.min(last, nthStartDay(count - 1));
+        }
+        this.lastStartDay = last;
+    }
+
+    /** The series' rule, or {@code null} for a single event. */
+    static Recurrence of(CalendarEventResponse event) {
+        RecurrenceResponse rule = event.recurrence();
+        if (rule == null) {
+            return null;
+        }
+        long startDay = rule.seriesStartDate().toEpochDay();
+        long[] exceptions = rule.exceptions().stream().mapToLong(LocalDate::toEpochDay).sorted().toArray();
+        return new Recurrence(RecurrenceFrequency.valueOf(rule.frequency()), rule.interval(), startDay,
+                (int) (rule.seriesEndDate().toEpochDay() - startDay), rule.count(), rule.until(), exceptions);
+    }
+
+    /** Last day covered by any occurrence, {@link #UNBOUNDED} for a series without count or until. */
+    long lastEndDay() {
+        return lastStartDay == UNBOUNDED ? UNBOUNDED : lastStartDay + spanDays;
+    }
+
+    int spanDays() {
+        return spanDays;
+    }
+
+    /** Occurrences overlapping the inclusive day range, in order. */
+    Cursor occurrences(long fromDay, long toDay) {
+        return new Cursor(fromDay, toDay);
+    }
+
+    // Start day of the n-th candidate occurrence, or NO_MORE for a month that lacks the day of month
+    private long candidate(long n) {
+        return switch (frequency) {
+            case DAILY -> startDay + n * interval;
+            case WEEKLY -> startDay + n * interval * 7L;
+            case MONTHLY -> monthStartDay(startMonth + n * interval);
+        };
+    }
+
+    // Day of month in the month counted from year 0, NO_MORE if it lacks it, UNBOUNDED past the last LocalDate
+    private long monthStartDay(long months) {
+        if (months > MAX_MONTH) {
+            return UNBOUNDED;
+        }
+        if (!hasDayOfMonth(months)) {
+            return NO_MORE;
+        }
+        return LocalDate.of((int) Math.floorDiv(months, 12), (int) Math.floorMod(months, 12) + 1, dayOfMonth)
+                .toEpochDay();
+    }
+
+    private boolean hasDayOfMonth(long months) {
+        Month month = Month.of((int) Math.floorMod(months, 12) + 1);
+        return dayOfMonth <= month.length(Year.isLeap(Math.floorDiv(months, 12)));
+    }
+
+    // Index of the first candidate whose occurrence can still end on or after the day
+    private long firstCandidateReaching(long day) {
+        long earliestStart = day - spanDays;
+        if (earliestStart <= startDay) {
+            return 0;
+        }
+        return switch (frequency) {
+            case DAILY -> Math.ceilDiv(earliestStart - startDay, (long) interval);
+            case WEEKLY -> Math.ceilDiv(earliestStart - startDay, interval * 7L);
+            case MONTHLY -> {
+                LocalDate target = LocalDate.ofEpochDay(earliestStart);
+                long months = target.getYear() * 12L + target.getMonthValue() - 1 - startMonth;
+                yield Math.max(0, Math.floorDiv(months, interval) - 1);
+            }
+        };
+    }
+
+    // Start day of the n-th occurrence before exceptions, UNBOUNDED if it lies past the last LocalDate
+    private long nthStartDay(long n) {
+        if (frequency != RecurrenceFrequency.MONTHLY) {
+            long step = frequency == RecurrenceFrequency.DAILY ? interval : interval * 7L;
+            return n > (MAX_DAY - startDay) / step ? UNBOUNDED : startDay + n * step;
+        }
+        if (dayOfMonth <= 28) {
+            return monthStartDay(startMonth + n * interval);
+        }
+        // Skipped months repeat with the calendar, yearly for the 30th and 31st and every 400 years for the 29th,
+        // so whole cycles are counted arithmetically and only the rest of the last one is walked
+        int calendarMonths = dayOfMonth == 29 ? 4800 : 12;
+        int cycle = calendarMonths / gcd(interval, calendarMonths);
+        int perCycle = 0;
+        for (int i = 0; i < cycle; i++) {
+            if (hasDayOfMonth(startMonth + (long) i * interval)) {
+                perCycle++;
+            }
+        }
+        long cycleMonths = (long) cycle * interval;
+        long cycles = n / perCycle;
+        if (cycles > (MAX_MONTH - startMonth) / cycleMonths) {
+            return UNBOUNDED;
+        }
+        long months = startMonth + cycles * cycleMonths;
+        for (long remaining = n % perCycle; ; months += interval) {
+            if (hasDayOfMonth(months) && remaining-- == 0) {
+                return monthStartDay(months);
+            }
+        }
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int r = a % b;
+            a = b;
+            b = r;
+        }
+        return a;
+    }
+
+    final class Cursor {
+
+        private final long fromDay;
+        private final long toDay;
+        private long next;
+
+        private Cursor(long fromDay, long toDay) {
+            this.fromDay = fromDay;
+            this.toDay = toDay;
+            this.next = firstCandidateReaching(fromDay);
+        }
+
+        /** Start day of the next occurrence in the window, or {@link #NO_MORE}. */
+        long nextStartDay() {
+            while (true) {
+                long day = candidate(next++);
+                if (day == NO_MORE) {
+                    continue;
+                }
+                if (day > toDay || day > lastStartDay) {
+                    return NO_MORE;
+                }
+                if (day + spanDays >= fromDay && Arrays.binarySearch(exceptionDays, day) < 0) {
+                    return day;
+                }
+            }
+        }
+    }
+}
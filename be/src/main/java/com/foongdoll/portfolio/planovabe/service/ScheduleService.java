@@ -1,117 +1,164 @@
 package com.foongdoll.portfolio.planovabe.service;
 
-import com.foongdoll.portfolio.planovabe.dto.response.TaskResponse;
-import com.foongdoll.portfolio.planovabe.entity.Dependency;
-import com.foongdoll.portfolio.planovabe.entity.Task;
-import com.foongdoll.portfolio.planovabe.exception.CycleDetectedException;
+import com.foongdoll.portfolio.planovabe.dto.response.CriticalPathResponse;
+import com.foongdoll.portfolio.planovabe.dto.response.TaskSlackResponse;
 import com.foongdoll.portfolio.planovabe.exception.ResourceNotFoundException;
-import com.foongdoll.portfolio.planovabe.repository.DependencyRepository;
 import com.foongdoll.portfolio.planovabe.repository.ProjectRepository;
-import com.foongdoll.portfolio.planovabe.repository.TaskRepository;
+import com.foongdoll.portfolio.planovabe.repository.TaskJdbcRepository;
+import com.foongdoll.portfolio.planovabe.schedule.CriticalPathAnalysis;
+import com.foongdoll.portfolio.planovabe.schedule.ScheduleEngine;
+import com.foongdoll.portfolio.planovabe.schedule.TaskSchedule;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class ScheduleService {
 
-    private final TaskRepository taskRepository;
-    private final DependencyRepository dependencyRepository;
+    private final TaskJdbcRepository taskJdbcRepository;
     private final ProjectRepository projectRepository;
+    private final ChangeTracker changeTracker;
+    private final PassMetrics recalculateMetrics;
+    private final PassMetrics propagateMetrics;
 
-    public ScheduleService(TaskRepository taskRepository, DependencyRepository dependencyRepository, ProjectRepository projectRepository) {
-        this.taskRepository = taskRepository;
-        this.dependencyRepository = dependencyRepository;
+    public ScheduleService(TaskJdbcRepository taskJdbcRepository, ProjectRepository projectRepository,
+                           ChangeTracker changeTracker, MeterRegistry registry) {
+        this.taskJdbcRepository = taskJdbcRepository;
         this.projectRepository = projectRepository;
+        this.changeTracker = changeTracker;
+        this.recalculateMetrics = new PassMetrics(registry, "recalculate");
+        this.propagateMetrics = new PassMetrics(registry, "propagate");
     }
 
+    /** @return number of tasks whose dates changed */
     @Transactional
-    public List<TaskResponse> recalculate(Long projectId) {
+    public int recalculate(Long projectId) {
+        // Locked before the first read, which fixes the snapshot; edits committed while waiting would otherwise be
+        // read stale and overwritten
+        changeTracker.lock(projectId);
         if (!projectRepository.existsById(projectId)) {
             throw new ResourceNotFoundException("Project not found: " + projectId);
         }
 
-        List<Task> tasks = taskRepository.findByProjectId(projectId);
-        List<Dependency> deps = dependencyRepository.findByProjectId(projectId);
-
-        // Build adjacency and in-degree maps
-        Map<Long, List<Long>> successors = new HashMap<>(); // fromTask -> [toTask]
-        Map<Long, List<Long>> predecessors = new HashMap<>(); // toTask -> [fromTask]
-        Map<Long, Integer> inDegree = new HashMap<>();
-        Map<Long, Task> taskMap = new HashMap<>();
+        // Graph and dates are loaded as primitive arrays, only moved tasks are written back in one batch
+        long start = System.nanoTime();
+        TaskSchedule schedule = taskJdbcRepository.loadSchedule(projectId);
+        long built = System.nanoTime();
+        int[] changed = ScheduleEngine.recalculate(schedule);
+        long propagated = System.nanoTime();
+        if (changed.length > 0) {
+            taskJdbcRepository.updateDates(schedule, changed, changeTracker.versionFor(projectId));
+        }
+        recalculateMetrics.record(schedule.graph().size(), changed.length, start, built, propagated);
+        return changed.length;
+    }
 
-        for (Task t : tasks) {
-            taskMap.put(t.getId(), t);
-            inDegree.put(t.getId(), 0);
-            successors.put(t.getId(), new ArrayList<>());
-            predecessors.put(t.getId(), new ArrayList<>());
+    @Transactional(readOnly = true)
+    public CriticalPathResponse criticalPath(Long projectId) {
+        if (!projectRepository.existsById(projectId)) {
+            throw new ResourceNotFoundException("Project not found: " + projectId);
         }
 
-        for (Dependency dep : deps) {
-            Long from = dep.getFromTask().getId();
-            Long to = dep.getToTask().getId();
-            successors.get(from).add(to);
-            predecessors.get(to).add(from);
-            inDegree.merge(to, 1, Integer::sum);
+        TaskSchedule schedule = taskJdbcRepository.loadSchedule(projectId);
+        CriticalPathAnalysis cpm = CriticalPathAnalysis.analyze(schedule, LocalDate.now().toEpochDay());
+
+        int n = cpm.graph().size();
+        List<TaskSlackResponse> tasks = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            tasks.add(new TaskSlackResponse(
+                    cpm.graph().taskId(i),
+                    LocalDate.ofEpochDay(cpm.earlyStart(i)),
+                    lastDay(cpm.earlyStart(i), cpm.earlyFinish(i)),
+                    LocalDate.ofEpochDay(cpm.lateStart(i)),
+                    lastDay(cpm.lateStart(i), cpm.lateFinish(i)),
+                    cpm.totalFloat(i),
+                    cpm.freeFloat(i),
+                    cpm.isCritical(i)));
         }
 
-        // Kahn's algorithm - topological sort
-        Queue<Long> queue = new LinkedList<>();
-        for (Map.Entry<Long, Integer> entry : inDegree.entrySet()) {
-            if (entry.getValue() == 0) {
-                queue.add(entry.getKey());
-            }
+        List<List<Long>> paths = cpm.criticalPaths().stream()
+                .map(path -> Arrays.stream(path).boxed().toList())
+                .toList();
+
+        return new CriticalPathResponse(
+                projectId,
+                LocalDate.ofEpochDay(cpm.projectStart()),
+                lastDay(cpm.projectStart(), cpm.projectFinish()),
+                tasks,
+                paths);
+    }
+
+    /**
+     * Incremental counterpart of {@link #recalculate}: revisits only the transitive successors of the given
+     * tasks and stops along every path where a successor's dates do not move.
+     * Pending JPA changes must be flushed before calling this.
+     */
+    @Transactional
+    public void propagateFrom(Long projectId, Collection<Long> taskIds, boolean recomputeTasks) {
+        if (taskIds.isEmpty()) {
+            return;
         }
+        long start = System.nanoTime();
+        TaskSchedule schedule = taskJdbcRepository.loadDownstreamSchedule(taskIds);
+        long built = System.nanoTime();
+        long[] roots = taskIds.stream().mapToLong(Long::longValue).toArray();
+        int[] changed = ScheduleEngine.propagateDownstream(schedule, roots, recomputeTasks);
+        long propagated = System.nanoTime();
+        if (changed.length > 0) {
+            taskJdbcRepository.updateDates(schedule, changed, changeTracker.versionFor(projectId));
+        }
+        propagateMetrics.record(schedule.graph().size(), changed.length, start, built, propagated);
+    }
 
-        int processed = 0;
-        while (!queue.isEmpty()) {
-            Long taskId = queue.poll();
-            processed++;
-            Task task = taskMap.get(taskId);
-
-            // Calculate startDate from predecessors
-            List<Long> preds = predecessors.get(taskId);
-            if (preds != null && !preds.isEmpty()) {
-                LocalDate maxEndDate = null;
-                for (Long predId : preds) {
-                    Task pred = taskMap.get(predId);
-                    if (pred.getEndDate() != null) {
-                        LocalDate nextDay = pred.getEndDate().plusDays(1);
-                        if (maxEndDate == null || nextDay.isAfter(maxEndDate)) {
-                            maxEndDate = nextDay;
-                        }
-                    }
-                }
-                if (maxEndDate != null) {
-                    task.setStartDate(maxEndDate);
-                }
-            }
-
-            // Calculate endDate
-            if (task.getStartDate() != null && task.getDurationDays() != null) {
-                task.setEndDate(task.getStartDate().plusDays(task.getDurationDays() - 1));
-            }
-
-            taskRepository.save(task);
-
-            // Decrease in-degree of successors
-            for (Long succId : successors.get(taskId)) {
-                int newDegree = inDegree.get(succId) - 1;
-                inDegree.put(succId, newDegree);
-                if (newDegree == 0) {
-                    queue.add(succId);
-                }
-            }
+    // CPM finishes are exclusive, task end dates inclusive; zero-length tasks finish on their start day
+    private static LocalDate lastDay(long start, long exclusiveFinish) {
+        return LocalDate.ofEpochDay(Math.max(start, exclusiveFinish - 1));
+    }
+
+    /**
+     * Per-phase timers of a scheduling pass: {@code build} loads the dates and builds the graph, {@code propagate}
+     * runs the engine and {@code persist} writes the moved tasks back.
+     */
+    private static final class PassMetrics {
+
+        private final Timer build;
+        private final Timer propagate;
+        private final Timer persist;
+        private final DistributionSummary processed;
+        private final DistributionSummary changed;
+
+        PassMetrics(MeterRegistry registry, String operation) {
+            this.build = phaseTimer(registry, operation, "build");
+            this.propagate = phaseTimer(registry, operation, "propagate");
+            this.persist = phaseTimer(registry, operation, "persist");
+            this.processed = DistributionSummary.builder("schedule.tasks.processed")
+                    .tag("operation", operation).baseUnit("tasks").register(registry);
+            this.changed = DistributionSummary.builder("schedule.tasks.changed")
+                    .tag("operation", operation).baseUnit("tasks").register(registry);
         }
 
-        if (processed != tasks.size()) {
-            throw new CycleDetectedException("Cycle detected in project dependencies");
+        void record(int processedTasks, int changedTasks, long start, long built, long propagated) {
+            build.record(built - start, TimeUnit.NANOSECONDS);
+            propagate.record(propagated - built, TimeUnit.NANOSECONDS);
+            persist.record(System.nanoTime() - propagated, TimeUnit.NANOSECONDS);
+            processed.record(processedTasks);
+            changed.record(changedTasks);
         }
 
-        return taskRepository.findByProjectIdOrderBySortOrder(projectId).stream()
-                .map(TaskResponse::from)
-                .toList();
+        private static Timer phaseTimer(MeterRegistry registry, String operation, String phase) {
+            return Timer.builder("schedule.phase")
+                    .tag("operation", operation)
+                    .tag("phase", phase)
+                    .register(registry);
+        }
     }
 }
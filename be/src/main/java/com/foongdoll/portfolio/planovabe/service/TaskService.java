@@ -1,34 +1,67 @@
 package com.foongdoll.portfolio.planovabe.service;
 
+import com.foongdoll.portfolio.planovabe.dto.request.BatchCreateTaskRequest;
+import com.foongdoll.portfolio.planovabe.dto.request.BatchUpdateTaskRequest;
 import com.foongdoll.portfolio.planovabe.dto.request.CreateTaskRequest;
+import com.foongdoll.portfolio.planovabe.dto.request.TaskBatchRequest;
 import com.foongdoll.portfolio.planovabe.dto.request.UpdateTaskRequest;
+import com.foongdoll.portfolio.planovabe.dto.response.PageResponse;
+import com.foongdoll.portfolio.planovabe.dto.response.TaskBatchResponse;
 import com.foongdoll.portfolio.planovabe.dto.response.TaskResponse;
 import com.foongdoll.portfolio.planovabe.entity.Project;
 import com.foongdoll.portfolio.planovabe.entity.Task;
 import com.foongdoll.portfolio.planovabe.entity.TaskStatus;
+import com.foongdoll.portfolio.planovabe.exception.InvalidRequestException;
 import com.foongdoll.portfolio.planovabe.exception.ResourceNotFoundException;
+import com.foongdoll.portfolio.planovabe.exception.TaskConflictException;
 import com.foongdoll.portfolio.planovabe.repository.ProjectRepository;
+import com.foongdoll.portfolio.planovabe.repository.TaskJdbcRepository;
 import com.foongdoll.portfolio.planovabe.repository.TaskRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 public class TaskService {
 
     private final TaskRepository taskRepository;
+    private final TaskJdbcRepository taskJdbcRepository;
     private final ProjectRepository projectRepository;
+    private final ScheduleService scheduleService;
+    private final DependencyGraphIndex dependencyGraphIndex;
+    private final ChangeTracker changeTracker;
+    private final TransactionTemplate transactionTemplate;
 
-    public TaskService(TaskRepository taskRepository, ProjectRepository projectRepository) {
+    public TaskService(TaskRepository taskRepository, TaskJdbcRepository taskJdbcRepository, ProjectRepository projectRepository,
+                       ScheduleService scheduleService, DependencyGraphIndex dependencyGraphIndex,
+                       ChangeTracker changeTracker, TransactionTemplate transactionTemplate) {
         this.taskRepository = taskRepository;
+        this.taskJdbcRepository = taskJdbcRepository;
         this.projectRepository = projectRepository;
+        this.scheduleService = scheduleService;
+        this.dependencyGraphIndex = dependencyGraphIndex;
+        this.changeTracker = changeTracker;
+        this.transactionTemplate = transactionTemplate;
     }
 
-    public List<TaskResponse> getTasksByProject(Long projectId) {
-        return taskRepository.findByProjectIdOrderBySortOrder(projectId).stream()
-                .map(TaskResponse::from)
-                .toList();
+    public PageResponse<TaskResponse> getTasksByProject(Long projectId, String cursor, Integer limit) {
+        PageCursor.Keys after = PageCursor.decode(cursor, 2);
+        int size = PageCursor.limit(limit);
+        List<TaskResponse> rows = taskRepository.findResponsePage(projectId,
+                after != null ? after.intAt(0) : Integer.MIN_VALUE, after != null ? after.longAt(1) : 0L,
+                Limit.of(size + 1));
+        return PageResponse.of(rows, size, task -> PageCursor.encode(task.sortOrder(), task.id()));
     }
 
     @Transactional
@@ -42,6 +75,188 @@ public class TaskService {
                     .orElseThrow(() -> new ResourceNotFoundException("Parent task not found: " + request.parentId()));
         }
 
+        Task task = newTask(project, parent, request);
+        task.setChangeVersion(changeTracker.versionFor(projectId));
+        return TaskResponse.from(taskRepository.save(task));
+    }
+
+    /**
+     * The project is looked up outside the write transaction, which then takes the project lock before its first
+     * read; otherwise the merge check would run against a snapshot older than the writes the lock waited for.
+     */
+    public TaskResponse updateTask(Long taskId, UpdateTaskRequest request) {
+        Long projectId = taskRepository.findProjectIdById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found: " + taskId));
+
+        return transactionTemplate.execute(status -> {
+            changeTracker.lock(projectId);
+            Task task = findTask(taskId);
+            LocalDate previousEndDate = task.getEndDate();
+
+            applyChanges(task, request);
+            task.setChangeVersion(changeTracker.versionFor(projectId));
+
+            if (request.parentId() != null) {
+                Task parent = taskRepository.findById(request.parentId())
+                        .orElseThrow(() -> new ResourceNotFoundException("Parent task not found: " + request.parentId()));
+                task.setParent(parent);
+            }
+
+            // Flushed right away so the response carries the incremented version
+            Task saved = taskRepository.saveAndFlush(task);
+
+            // Successors only start after this task ends, so they only move if the end date did
+            if (!Objects.equals(previousEndDate, saved.getEndDate())) {
+                scheduleService.propagateFrom(projectId, List.of(saved.getId()), false);
+            }
+
+            return TaskResponse.from(saved);
+        });
+    }
+
+    @Transactional
+    public void deleteTask(Long taskId) {
+        Task task = findTask(taskId);
+        Long projectId = task.getProject().getId();
+        changeTracker.tasksDeleted(projectId, List.of(taskId));
+        taskRepository.delete(task);
+        dependencyGraphIndex.removeTask(projectId, taskId);
+    }
+
+    /**
+     * Applies creates, patches and deletes in one transaction. Creates are inserted with a single JDBC batch and may
+     * reference each other as parents through their client-side {@code tempId}s; patches are flushed as batched
+     * updates and deletes run as one statement.
+     */
+    @Transactional
+    public TaskBatchResponse applyBatch(Long projectId, TaskBatchRequest request) {
+        // Locked before the first read so patches are merged against the latest committed rows
+        changeTracker.lock(projectId);
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found: " + projectId));
+
+        List<BatchCreateTaskRequest> creates = request.creates() != null ? request.creates() : List.of();
+        List<BatchUpdateTaskRequest> updates = request.updates() != null ? request.updates() : List.of();
+        List<Long> deletes = request.deletes() != null ? request.deletes() : List.of();
+
+        Set<Long> deleteIds = new HashSet<>(deletes);
+        Set<Long> referencedIds = new HashSet<>(deleteIds);
+        for (BatchUpdateTaskRequest update : updates) {
+            if (deleteIds.contains(update.id())) {
+                throw new InvalidRequestException("Task is both updated and deleted: " + update.id());
+            }
+            referencedIds.add(update.id());
+            if (update.changes().parentId() != null) referencedIds.add(update.changes().parentId());
+        }
+        for (BatchCreateTaskRequest create : creates) {
+            if (create.task().parentId() != null) referencedIds.add(create.task().parentId());
+        }
+
+        Set<Long> existingIds = taskJdbcRepository.findIdsInProject(projectId, referencedIds);
+        for (Long id : referencedIds) {
+            if (!existingIds.contains(id)) {
+                throw new ResourceNotFoundException("Task not found in project " + projectId + ": " + id);
+            }
+        }
+
+        long changeVersion = changeTracker.versionFor(projectId);
+
+        // Patches
+        Map<Long, Task> updatedTasks = new LinkedHashMap<>();
+        List<Long> movedTaskIds = new ArrayList<>();
+        if (!updates.isEmpty()) {
+            Map<Long, Task> loaded = new HashMap<>();
+            for (Task task : taskRepository.findAllById(updates.stream().map(BatchUpdateTaskRequest::id).toList())) {
+                loaded.put(task.getId(), task);
+            }
+            for (BatchUpdateTaskRequest update : updates) {
+                Task task = loaded.get(update.id());
+                LocalDate previousEndDate = task.getEndDate();
+                applyChanges(task, update.changes());
+                task.setChangeVersion(changeVersion);
+                Long parentId = update.changes().parentId();
+                if (parentId != null) {
+                    if (deleteIds.contains(parentId)) {
+                        throw new InvalidRequestException("Parent task is deleted in the same batch: " + parentId);
+                    }
+                    task.setParent(taskRepository.getReferenceById(parentId));
+                }
+                if (!Objects.equals(previousEndDate, task.getEndDate())) {
+                    movedTaskIds.add(task.getId());
+                }
+                updatedTasks.put(task.getId(), task);
+            }
+            taskRepository.flush();
+        }
+
+        // Deletes
+        if (!deleteIds.isEmpty()) {
+            changeTracker.tasksDeleted(projectId, deleteIds);
+            taskRepository.deleteAllByIdInBatch(deleteIds);
+            for (Long id : deleteIds) {
+                dependencyGraphIndex.removeTask(projectId, id);
+            }
+        }
+
+        // Creates; parents created in the same batch only get their ID from the insert, so they are linked after it
+        Map<String, Task> createdTasks = new LinkedHashMap<>();
+        Map<String, String> parentTempIds = new HashMap<>();
+        for (BatchCreateTaskRequest create : creates) {
+            Long parentId = create.task().parentId();
+            if (parentId != null && create.parentTempId() != null) {
+                throw new InvalidRequestException("Task cannot have both parentId and parentTempId: " + create.tempId());
+            }
+            if (parentId != null && deleteIds.contains(parentId)) {
+                throw new InvalidRequestException("Parent task is deleted in the same batch: " + parentId);
+            }
+            Task parent = parentId != null ? taskRepository.getReferenceById(parentId) : null;
+            Task task = newTask(project, parent, create.task());
+            task.setChangeVersion(changeVersion);
+            if (createdTasks.put(create.tempId(), task) != null) {
+                throw new InvalidRequestException("Duplicate temp ID: " + create.tempId());
+            }
+            if (create.parentTempId() != null) {
+                parentTempIds.put(create.tempId(), create.parentTempId());
+            }
+        }
+        for (String tempId : parentTempIds.keySet()) {
+            Set<String> path = new HashSet<>();
+            for (String t = tempId; t != null; t = parentTempIds.get(t)) {
+                if (!createdTasks.containsKey(t)) {
+                    throw new InvalidRequestException("Unknown parent temp ID: " + t);
+                }
+                if (!path.add(t)) {
+                    throw new InvalidRequestException("Parent cycle among created tasks: " + tempId);
+                }
+            }
+        }
+
+        taskJdbcRepository.insertAll(new ArrayList<>(createdTasks.values()));
+        List<Task> linkedToTemp = new ArrayList<>(parentTempIds.size());
+        parentTempIds.forEach((tempId, parentTempId) -> {
+            Task task = createdTasks.get(tempId);
+            task.setParent(createdTasks.get(parentTempId));
+            linkedToTemp.add(task);
+        });
+        taskJdbcRepository.updateParents(linkedToTemp);
+
+        scheduleService.propagateFrom(projectId, movedTaskIds, false);
+
+        Map<String, TaskResponse> created = new LinkedHashMap<>();
+        createdTasks.forEach((tempId, task) -> created.put(tempId, TaskResponse.from(task)));
+        List<TaskResponse> updated = updatedTasks.values().stream().map(TaskResponse::from).toList();
+        if (!movedTaskIds.isEmpty()) {
+            // Propagation writes through JDBC and may have moved patched tasks again, bumping their versions
+            Map<Long, TaskResponse> current = new HashMap<>();
+            for (TaskResponse task : taskRepository.findResponsesByIdIn(updatedTasks.keySet())) {
+                current.put(task.id(), task);
+            }
+            updated = updatedTasks.keySet().stream().map(current::get).toList();
+        }
+        return new TaskBatchResponse(created, updated, List.copyOf(deleteIds));
+    }
+
+    private Task newTask(Project project, Task parent, CreateTaskRequest request) {
         TaskStatus status = TaskStatus.TODO;
         if (request.status() != null) {
             status = TaskStatus.valueOf(request.status());
@@ -65,13 +280,34 @@ public class TaskService {
         if (task.getStartDate() != null && task.getDurationDays() != null) {
             task.setEndDate(task.getStartDate().plusDays(task.getDurationDays() - 1));
         }
-
-        return TaskResponse.from(taskRepository.save(task));
+        return task;
     }
 
-    @Transactional
-    public TaskResponse updateTask(Long taskId, UpdateTaskRequest request) {
-        Task task = findTask(taskId);
+    /**
+     * Applies a patch. A patch based on an older version still merges as long as none of the field groups it touches
+     * (content, schedule, layout) was written since that version; otherwise it is rejected with the current state.
+     */
+    private void applyChanges(Task task, UpdateTaskRequest request) {
+        boolean content = request.title() != null || request.description() != null || request.status() != null
+                || request.color() != null;
+        boolean schedule = request.startDate() != null || request.durationDays() != null;
+        boolean layout = request.parentId() != null || request.sortOrder() != null || request.positionX() != null
+                || request.positionY() != null;
+
+        Long base = request.version();
+        if (base != null && !base.equals(task.getVersion())
+                && ((content && task.getContentVersion() > base)
+                    || (schedule && task.getScheduleVersion() > base)
+                    || (layout && task.getLayoutVersion() > base))) {
+            throw new TaskConflictException("Task was modified since version " + base + ": " + task.getId(),
+                    TaskResponse.from(task));
+        }
+
+        // The flush increments the row version to this value
+        long next = task.getVersion() + 1;
+        if (content) task.setContentVersion(next);
+        if (schedule) task.setScheduleVersion(next);
+        if (layout) task.setLayoutVersion(next);
 
         if (request.title() != null) task.setTitle(request.title());
         if (request.description() != null) task.setDescription(request.description());
@@ -83,24 +319,10 @@ public class TaskService {
         if (request.positionY() != null) task.setPositionY(request.positionY());
         if (request.color() != null) task.setColor(request.color().isEmpty() ? null : request.color());
 
-        if (request.parentId() != null) {
-            Task parent = taskRepository.findById(request.parentId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Parent task not found: " + request.parentId()));
-            task.setParent(parent);
-        }
-
         // Recalculate endDate
         if (task.getStartDate() != null && task.getDurationDays() != null) {
             task.setEndDate(task.getStartDate().plusDays(task.getDurationDays() - 1));
         }
-
-        return TaskResponse.from(taskRepository.save(task));
-    }
-
-    @Transactional
-    public void deleteTask(Long taskId) {
-        Task task = findTask(taskId);
-        taskRepository.delete(task);
     }
 
     private Task findTask(Long id) {
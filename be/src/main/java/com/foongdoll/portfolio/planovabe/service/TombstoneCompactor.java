@@ -0,0 +1,50 @@
+package com.foongdoll.portfolio.planovabe.service;
+
+import com.foongdoll.portfolio.planovabe.repository.ChangeLogJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Deletes tombstones older than the retention period. Each project is compacted in its own short transaction
+ * under its row lock, and its horizon is raised with the delete, so delta sync can tell a client whose version
+ * predates the remaining tombstones to reload a snapshot instead of silently missing deletions.
+ */
+@Component
+public class TombstoneCompactor {
+
+    private final ChangeLogJdbcRepository changeLogJdbcRepository;
+    private final ChangeTracker changeTracker;
+    private final TransactionTemplate transactionTemplate;
+    private final TombstoneRetentionProperties props;
+    private final Counter compacted;
+
+    public TombstoneCompactor(ChangeLogJdbcRepository changeLogJdbcRepository, ChangeTracker changeTracker,
+                              TransactionTemplate transactionTemplate, TombstoneRetentionProperties props,
+                              MeterRegistry registry) {
+        this.changeLogJdbcRepository = changeLogJdbcRepository;
+        this.changeTracker = changeTracker;
+        this.transactionTemplate = transactionTemplate;
+        this.props = props;
+        this.compacted = Counter.builder("sync.tombstones.compacted").register(registry);
+    }
+
+    @Scheduled(initialDelayString = "${sync.tombstones.compaction-interval}",
+            fixedDelayString = "${sync.tombstones.compaction-interval}")
+    public void compact() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(props.retention());
+        Map<Long, Long> expired = changeLogJdbcRepository.findExpiredTombstoneVersions(cutoff);
+        expired.forEach((projectId, version) -> {
+            Integer deleted = transactionTemplate.execute(status -> {
+                changeTracker.lock(projectId);
+                return changeLogJdbcRepository.compactTombstones(projectId, version);
+            });
+            compacted.increment(deleted != null ? deleted : 0);
+        });
+    }
+}
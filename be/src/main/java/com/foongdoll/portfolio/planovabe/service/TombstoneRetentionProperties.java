@@ -0,0 +1,10 @@
+package com.foongdoll.portfolio.planovabe.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "sync.tombstones")
+public record TombstoneRetentionProperties(
+    Duration retention
+) {}
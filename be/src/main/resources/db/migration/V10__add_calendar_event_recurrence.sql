@@ -0,0 +1,11 @@
+ALTER TABLE calendar_events ADD COLUMN recurrence_frequency VARCHAR(10);
+ALTER TABLE calendar_events ADD COLUMN recurrence_interval INT;
+ALTER TABLE calendar_events ADD COLUMN recurrence_count INT;
+ALTER TABLE calendar_events ADD COLUMN recurrence_until DATE;
+
+CREATE TABLE calendar_event_exceptions (
+    event_id BIGINT NOT NULL,
+    occurrence_date DATE NOT NULL,
+    PRIMARY KEY (event_id, occurrence_date),
+    CONSTRAINT fk_calendar_exception_event FOREIGN KEY (event_id) REFERENCES calendar_events(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
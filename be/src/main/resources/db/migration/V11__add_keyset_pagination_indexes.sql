@@ -0,0 +1,3 @@
+-- Keyset pages seek to (sort key, id) and read the next rows in index order
+CREATE INDEX idx_task_project_sort ON tasks (project_id, sort_order, id);
+CREATE INDEX idx_calendar_event_user_start_id ON calendar_events (user_id, start_date, id);
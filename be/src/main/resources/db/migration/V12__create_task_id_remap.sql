@@ -0,0 +1,9 @@
+-- Old-to-new task IDs while a project clone runs; rows live only inside the cloning transaction
+CREATE TABLE task_id_remap (
+    clone_id BIGINT NOT NULL,
+    old_id BIGINT NOT NULL,
+    new_id BIGINT NOT NULL,
+    old_parent_id BIGINT NULL,
+    PRIMARY KEY (clone_id, old_id),
+    UNIQUE KEY uk_task_id_remap_new (clone_id, new_id)
+) ENGINE=InnoDB;
@@ -0,0 +1,5 @@
+-- Tombstones are kept for a retention period; clients synced from before a project's horizon reload a snapshot
+ALTER TABLE change_tombstones ADD COLUMN created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP;
+CREATE INDEX idx_tombstone_created ON change_tombstones (created_at);
+
+ALTER TABLE projects ADD COLUMN tombstone_horizon BIGINT NOT NULL DEFAULT 0;
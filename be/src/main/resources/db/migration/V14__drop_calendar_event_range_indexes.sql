@@ -0,0 +1,4 @@
+-- Range queries are served from the per-user interval tree; its full load and the keyset pages both read
+-- idx_calendar_event_user_start_id, so these two only cost writes
+DROP INDEX idx_calendar_event_user_start ON calendar_events;
+DROP INDEX idx_calendar_event_user_end ON calendar_events;
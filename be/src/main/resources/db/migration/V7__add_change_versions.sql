@@ -0,0 +1,17 @@
+ALTER TABLE projects ADD COLUMN change_version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE tasks ADD COLUMN change_version BIGINT NOT NULL DEFAULT 0;
+CREATE INDEX idx_task_project_version ON tasks (project_id, change_version);
+
+ALTER TABLE dependencies ADD COLUMN change_version BIGINT NOT NULL DEFAULT 0;
+CREATE INDEX idx_dep_project_version ON dependencies (project_id, change_version);
+
+CREATE TABLE change_tombstones (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    project_id BIGINT NOT NULL,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    change_version BIGINT NOT NULL,
+    CONSTRAINT fk_tombstone_project FOREIGN KEY (project_id) REFERENCES projects(id) ON DELETE CASCADE,
+    INDEX idx_tombstone_project_version (project_id, change_version)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
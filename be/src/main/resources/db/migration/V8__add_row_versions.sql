@@ -0,0 +1,6 @@
+ALTER TABLE tasks ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tasks ADD COLUMN content_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tasks ADD COLUMN schedule_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tasks ADD COLUMN layout_version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE dependencies ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+-- A range query bounds one end and filters the other inside the index, whichever side is more selective
+CREATE INDEX idx_calendar_event_user_start ON calendar_events (user_id, start_date, end_date);
+CREATE INDEX idx_calendar_event_user_end ON calendar_events (user_id, end_date, start_date);
@@ -0,0 +1,106 @@
+package com.foongdoll.portfolio.planovabe.repository;
+
+import com.foongdoll.portfolio.planovabe.entity.Dependency;
+import com.foongdoll.portfolio.planovabe.entity.Project;
+import com.foongdoll.portfolio.planovabe.entity.Task;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import(ProjectJdbcRepository.class)
+class ProjectCloneTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 3, 3);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProjectJdbcRepository projectJdbcRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private DependencyRepository dependencyRepository;
+
+    @Test
+    void cloneRelinksParentsAndDependenciesToTheCopiedTasks() {
+        Project source = Project.builder().name("Source").build();
+        entityManager.persist(source);
+        // Two roots, each with a chain of children, and dependencies running across both trees
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Task task = Task.builder()
+                    .project(source)
+                    .parent(i >= 2 ? tasks.get(i - 2) : null)
+                    .title("Task " + i)
+                    .startDate(START.plusDays(i))
+                    .durationDays(2)
+                    .endDate(START.plusDays(i + 1))
+                    .sortOrder(i)
+                    .build();
+            entityManager.persist(task);
+            tasks.add(task);
+        }
+        for (int[] edge : new int[][] {{0, 1}, {1, 4}, {2, 5}, {3, 4}}) {
+            entityManager.persist(Dependency.builder()
+                    .project(source)
+                    .fromTask(tasks.get(edge[0]))
+                    .toTask(tasks.get(edge[1]))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Long cloneId = projectJdbcRepository.insertCopy(source.getId(), null);
+        projectJdbcRepository.copyTasks(source.getId(), cloneId, 7, 1L);
+
+        List<Task> copies = taskRepository.findByProjectIdOrderBySortOrder(cloneId);
+        Map<Long, Integer> indexOfCopy = new HashMap<>();
+        assertEquals(6, copies.size());
+        for (int i = 0; i < copies.size(); i++) {
+            Task copy = copies.get(i);
+            indexOfCopy.put(copy.getId(), i);
+            assertNotEquals(tasks.get(i).getId(), copy.getId());
+            assertEquals("Task " + i, copy.getTitle());
+            assertEquals(START.plusDays(i + 7), copy.getStartDate());
+            assertEquals(START.plusDays(i + 8), copy.getEndDate());
+            if (i < 2) {
+                assertNull(copy.getParent());
+            } else {
+                assertEquals(copies.get(i - 2).getId(), copy.getParent().getId());
+            }
+        }
+
+        List<String> edges = dependencyRepository.findByProjectId(cloneId).stream()
+                .map(d -> indexOfCopy.get(d.getFromTask().getId()) + "->" + indexOfCopy.get(d.getToTask().getId()))
+                .sorted()
+                .toList();
+        assertEquals(List.of("0->1", "1->4", "2->5", "3->4"), edges);
+        assertEquals("Source (copy)", entityManager.find(Project.class, cloneId).getName());
+        assertEquals(4, dependencyRepository.findByProjectId(source.getId()).size());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM task_id_remap", Integer.class));
+    }
+}
@@ -0,0 +1,118 @@
+package com.foongdoll.portfolio.planovabe.repository;
+
+import com.foongdoll.portfolio.planovabe.dto.response.DependencyResponse;
+import com.foongdoll.portfolio.planovabe.dto.response.TaskResponse;
+import com.foongdoll.portfolio.planovabe.entity.Dependency;
+import com.foongdoll.portfolio.planovabe.entity.Project;
+import com.foongdoll.portfolio.planovabe.entity.Task;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+class ProjectListingQueryCountTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private DependencyRepository dependencyRepository;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 50, 500})
+    void taskPageIsOneStatementRegardlessOfSize(int taskCount) {
+        Long projectId = createProject(taskCount);
+        Statistics statistics = statistics();
+
+        List<TaskResponse> tasks = taskRepository.findResponsePage(projectId, Integer.MIN_VALUE, 0L,
+                Limit.of(taskCount + 1));
+
+        assertEquals(taskCount, tasks.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 50, 500})
+    void dependencyPageIsOneStatementRegardlessOfSize(int taskCount) {
+        Long projectId = createProject(taskCount);
+        Statistics statistics = statistics();
+
+        List<DependencyResponse> dependencies = dependencyRepository.findResponsePage(projectId, 0L,
+                Limit.of(taskCount));
+
+        assertEquals(taskCount - 1, dependencies.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void taskPagesResumeAfterTheirLastRow() {
+        Long projectId = createProject(50);
+        Statistics statistics = statistics();
+
+        List<Long> ids = new ArrayList<>();
+        List<TaskResponse> page = taskRepository.findResponsePage(projectId, Integer.MIN_VALUE, 0L, Limit.of(7));
+        while (!page.isEmpty()) {
+            page.forEach(task -> ids.add(task.id()));
+            TaskResponse last = page.getLast();
+            page = taskRepository.findResponsePage(projectId, last.sortOrder(), last.id(), Limit.of(7));
+        }
+
+        assertEquals(50, ids.size());
+        assertEquals(50, ids.stream().distinct().count());
+        assertEquals(9, statistics.getPrepareStatementCount());
+    }
+
+    // A chain of tasks where every task after the first is a child of and depends on its predecessor
+    private Long createProject(int taskCount) {
+        Project project = Project.builder().name("Project " + taskCount).build();
+        entityManager.persist(project);
+
+        List<Task> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            Task task = Task.builder()
+                    .project(project)
+                    .parent(i > 0 ? tasks.get(i - 1) : null)
+                    .title("Task " + i)
+                    .sortOrder(i)
+                    .build();
+            entityManager.persist(task);
+            tasks.add(task);
+        }
+        for (int i = 1; i < taskCount; i++) {
+            entityManager.persist(Dependency.builder()
+                    .project(project)
+                    .fromTask(tasks.get(i - 1))
+                    .toTask(tasks.get(i))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return project.getId();
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
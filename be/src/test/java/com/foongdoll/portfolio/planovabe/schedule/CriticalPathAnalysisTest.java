@@ -0,0 +1,124 @@
+package com.foongdoll.portfolio.planovabe.schedule;
+
+import com.foongdoll.portfolio.planovabe.exception.CycleDetectedException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntToLongFunction;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CriticalPathAnalysisTest {
+
+    private static final LocalDate JAN_1 = LocalDate.of(2025, 1, 1);
+    private static final long D = JAN_1.toEpochDay();
+
+    @Test
+    void earlyAndLateDatesAndFloatsOfAFixedGraph() {
+        // 1 (3 days) and 2 (Jan 1-2 inclusive, no duration) feed 3 (2 days), which feeds 4 (1 day); 2 also feeds 5
+        TaskSchedule schedule = TaskSchedule.builder(5, 4)
+                .addTask(1, JAN_1, 3, null)
+                .addTask(2, JAN_1, null, JAN_1.plusDays(1))
+                .addTask(3, null, 2, null)
+                .addTask(4, null, 1, null)
+                .addTask(5, null, 1, null)
+                .addEdge(1, 3)
+                .addEdge(2, 3)
+                .addEdge(3, 4)
+                .addEdge(2, 5)
+                .build();
+
+        CriticalPathAnalysis cpm = CriticalPathAnalysis.analyze(schedule, D + 100);
+
+        // Finishes are exclusive: task 2's inclusive Jan 1-2 becomes [D, D + 2)
+        assertArrayEquals(new long[] {D, D, D + 3, D + 5, D + 2}, each(cpm, cpm::earlyStart));
+        assertArrayEquals(new long[] {D + 3, D + 2, D + 5, D + 6, D + 3}, each(cpm, cpm::earlyFinish));
+        assertArrayEquals(new long[] {D, D + 1, D + 3, D + 5, D + 5}, each(cpm, cpm::lateStart));
+        assertArrayEquals(new long[] {D + 3, D + 3, D + 5, D + 6, D + 6}, each(cpm, cpm::lateFinish));
+        assertEquals(D, cpm.projectStart());
+        assertEquals(D + 6, cpm.projectFinish());
+
+        // Task 2 can slip a day before the project slips, but not without delaying task 5
+        assertArrayEquals(new long[] {0, 1, 0, 0, 3}, each(cpm, cpm::totalFloat));
+        assertArrayEquals(new long[] {0, 0, 0, 0, 3}, each(cpm, cpm::freeFloat));
+        assertTrue(cpm.isCritical(0));
+        assertFalse(cpm.isCritical(1));
+        assertFalse(cpm.isCritical(4));
+        assertEquals(List.of(List.of(1L, 3L, 4L)), paths(cpm));
+    }
+
+    @Test
+    void tasksWithoutAnyStartDateBeginOnTheDefaultDay() {
+        TaskSchedule schedule = TaskSchedule.builder(2, 1)
+                .addTask(1, null, 2, null)
+                .addTask(2, null, null, null)
+                .addEdge(1, 2)
+                .build();
+
+        CriticalPathAnalysis cpm = CriticalPathAnalysis.analyze(schedule, D);
+
+        assertArrayEquals(new long[] {D, D + 2}, each(cpm, cpm::earlyStart));
+        assertArrayEquals(new long[] {D + 2, D + 2}, each(cpm, cpm::earlyFinish));
+        assertEquals(D + 2, cpm.projectFinish());
+    }
+
+    @Test
+    void everyTightBranchIsACriticalPath() {
+        TaskSchedule schedule = TaskSchedule.builder(4, 4)
+                .addTask(1, JAN_1, 1, null)
+                .addTask(2, null, 2, null)
+                .addTask(3, null, 2, null)
+                .addTask(4, null, 1, null)
+                .addEdge(1, 2)
+                .addEdge(1, 3)
+                .addEdge(2, 4)
+                .addEdge(3, 4)
+                .build();
+
+        CriticalPathAnalysis cpm = CriticalPathAnalysis.analyze(schedule, D);
+
+        assertEquals(List.of(List.of(1L, 2L, 4L), List.of(1L, 3L, 4L)), paths(cpm));
+    }
+
+    @Test
+    void criticalPathsAreCappedAtSixteen() {
+        TaskSchedule.Builder builder = TaskSchedule.builder(20, 0);
+        for (long id = 1; id <= 20; id++) {
+            builder.addTask(id, JAN_1, 1, null);
+        }
+
+        CriticalPathAnalysis cpm = CriticalPathAnalysis.analyze(builder.build(), D);
+
+        assertEquals(CriticalPathAnalysis.MAX_CRITICAL_PATHS, cpm.criticalPaths().size());
+        for (int i = 0; i < 20; i++) {
+            assertTrue(cpm.isCritical(i));
+        }
+    }
+
+    @Test
+    void cycleIsRejected() {
+        TaskSchedule schedule = TaskSchedule.builder(2, 2)
+                .addTask(1, JAN_1, 1, null)
+                .addTask(2, JAN_1, 1, null)
+                .addEdge(1, 2)
+                .addEdge(2, 1)
+                .build();
+
+        assertThrows(CycleDetectedException.class, () -> CriticalPathAnalysis.analyze(schedule, D));
+    }
+
+    private static long[] each(CriticalPathAnalysis cpm, IntToLongFunction value) {
+        return IntStream.range(0, cpm.graph().size()).mapToLong(value).toArray();
+    }
+
+    private static List<List<Long>> paths(CriticalPathAnalysis cpm) {
+        return cpm.criticalPaths().stream().map(path -> Arrays.stream(path).boxed().toList()).toList();
+    }
+}
@@ -0,0 +1,135 @@
+package com.foongdoll.portfolio.planovabe.schedule;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DynamicTopologicalOrderTest {
+
+    @Test
+    void edgeAlongTheOrderIsAcceptedWithoutSearching() {
+        DynamicTopologicalOrder order = orderOf(3);
+
+        assertTrue(order.addEdge(1, 2));
+        assertEquals(0, order.lastVisited());
+        assertTrue(order.addEdge(2, 3));
+        assertEquals(0, order.lastVisited());
+    }
+
+    @Test
+    void edgeClosingACycleIsRejected() {
+        DynamicTopologicalOrder order = orderOf(4);
+        order.addEdge(1, 2);
+        order.addEdge(2, 3);
+        order.addEdge(3, 4);
+
+        assertFalse(order.addEdge(4, 1));
+        assertFalse(order.addEdge(3, 2));
+        assertFalse(order.addEdge(1, 1));
+        assertTrue(order.wouldCreateCycle(4, 1));
+        assertFalse(order.wouldCreateCycle(1, 4));
+    }
+
+    @Test
+    void rejectedEdgeLeavesTheGraphUnchanged() {
+        DynamicTopologicalOrder order = orderOf(3);
+        order.addEdge(1, 2);
+        order.addEdge(2, 3);
+
+        assertFalse(order.addEdge(3, 1));
+
+        // Had 3 -> 1 been linked, 1 -> 3 would close 1 -> 3 -> 1
+        assertTrue(order.addEdge(1, 3));
+    }
+
+    @Test
+    void edgeAgainstTheOrderReordersTheAffectedRegion() {
+        DynamicTopologicalOrder order = orderOf(4);
+        order.addEdge(1, 2);
+
+        // 4 comes after 1 and 2, so 4 -> 1 moves 4 in front of them
+        assertTrue(order.addEdge(4, 1));
+        assertTrue(order.lastVisited() > 0);
+        assertFalse(order.wouldCreateCycle(4, 2));
+        assertTrue(order.wouldCreateCycle(2, 4));
+        assertFalse(order.addEdge(2, 4));
+        assertTrue(order.addEdge(3, 4));
+        assertFalse(order.addEdge(2, 3));
+    }
+
+    @Test
+    void removedTaskTakesItsEdgesWithIt() {
+        DynamicTopologicalOrder order = orderOf(3);
+        order.addEdge(1, 2);
+        order.addEdge(2, 3);
+
+        order.removeTask(2);
+
+        assertEquals(2, order.size());
+        assertTrue(order.addEdge(3, 1));
+        order.addTask(2);
+        assertTrue(order.addEdge(1, 2));
+        assertFalse(order.addEdge(2, 3));
+    }
+
+    @Test
+    void seedingFromACyclicGraphFails() {
+        TaskGraph graph = TaskGraph.builder(2, 2).addTask(1).addTask(2).addEdge(1, 2).addEdge(2, 1).build();
+
+        assertThrows(IllegalArgumentException.class, () -> DynamicTopologicalOrder.of(graph));
+    }
+
+    @Test
+    void agreesWithAFullSortOnRandomEdges() {
+        Random random = new Random(42);
+        int tasks = 60;
+        List<long[]> edges = new ArrayList<>();
+        DynamicTopologicalOrder order = DynamicTopologicalOrder.of(graphOf(tasks, edges));
+
+        for (int i = 0; i < 2000; i++) {
+            long from = 1 + random.nextInt(tasks);
+            long to = 1 + random.nextInt(tasks);
+            if (edges.stream().anyMatch(edge -> edge[0] == from && edge[1] == to)) {
+                continue;
+            }
+            List<long[]> candidate = new ArrayList<>(edges);
+            candidate.add(new long[]{from, to});
+            boolean acyclic = from != to && graphOf(tasks, candidate).topologicalOrder() != null;
+
+            assertEquals(acyclic, order.addEdge(from, to), "edge " + from + " -> " + to);
+            if (acyclic) {
+                edges.add(new long[]{from, to});
+            }
+            if (i % 10 == 0 && !edges.isEmpty()) {
+                long[] removed = edges.remove(random.nextInt(edges.size()));
+                order.removeEdge(removed[0], removed[1]);
+            }
+        }
+    }
+
+    private static DynamicTopologicalOrder orderOf(int tasks) {
+        DynamicTopologicalOrder order = new DynamicTopologicalOrder(tasks);
+        for (long id = 1; id <= tasks; id++) {
+            order.addTask(id);
+        }
+        return order;
+    }
+
+    private static TaskGraph graphOf(int tasks, List<long[]> edges) {
+        TaskGraph.Builder builder = TaskGraph.builder(tasks, edges.size());
+        for (long id = 1; id <= tasks; id++) {
+            builder.addTask(id);
+        }
+        for (long[] edge : edges) {
+            builder.addEdge(edge[0], edge[1]);
+        }
+        return builder.build();
+    }
+}
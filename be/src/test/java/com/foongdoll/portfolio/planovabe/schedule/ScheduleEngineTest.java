@@ -0,0 +1,147 @@
+package com.foongdoll.portfolio.planovabe.schedule;
+
+import com.foongdoll.portfolio.planovabe.exception.CycleDetectedException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ScheduleEngineTest {
+
+    private static final LocalDate JAN_1 = LocalDate.of(2025, 1, 1);
+
+    @Test
+    void recalculateStartsEveryTaskAfterItsLatestPredecessor() {
+        TaskSchedule schedule = TaskSchedule.builder(4, 3)
+                .addTask(1, JAN_1, 3, JAN_1.plusDays(2))
+                .addTask(2, JAN_1, 5, JAN_1.plusDays(4))
+                .addTask(3, JAN_1, 2, JAN_1.plusDays(1))
+                .addTask(4, JAN_1, 1, JAN_1)
+                .addEdge(1, 3)
+                .addEdge(2, 3)
+                .addEdge(3, 4)
+                .build();
+
+        int[] changed = ScheduleEngine.recalculate(schedule);
+
+        assertArrayEquals(new int[] {2, 3}, changed);
+        assertEquals(JAN_1.plusDays(5), schedule.startDate(2));
+        assertEquals(JAN_1.plusDays(6), schedule.endDate(2));
+        assertEquals(JAN_1.plusDays(7), schedule.startDate(3));
+        assertEquals(JAN_1.plusDays(7), schedule.endDate(3));
+        assertEquals(JAN_1, schedule.startDate(0));
+    }
+
+    @Test
+    void missingDatesAndDurationsAreLeftAlone() {
+        TaskSchedule schedule = TaskSchedule.builder(4, 3)
+                .addTask(1, null, null, null)
+                .addTask(2, JAN_1, null, JAN_1.plusDays(9))
+                .addTask(3, JAN_1, 2, JAN_1.plusDays(1))
+                .addTask(4, null, 3, null)
+                .addEdge(1, 2)
+                .addEdge(1, 3)
+                .addEdge(3, 4)
+                .build();
+
+        int[] changed = ScheduleEngine.recalculate(schedule);
+
+        // A predecessor without an end date does not move its successors; a task without a duration keeps its end
+        assertArrayEquals(new int[] {3}, changed);
+        assertEquals(JAN_1, schedule.startDate(1));
+        assertEquals(JAN_1.plusDays(9), schedule.endDate(1));
+        assertEquals(JAN_1, schedule.startDate(2));
+        assertEquals(JAN_1.plusDays(2), schedule.startDate(3));
+        assertEquals(JAN_1.plusDays(4), schedule.endDate(3));
+        assertNull(schedule.startDate(0));
+        assertEquals(TaskSchedule.NO_DURATION, schedule.duration(0));
+    }
+
+    @Test
+    void startMovesWithoutDurationButEndStays() {
+        TaskSchedule schedule = TaskSchedule.builder(2, 1)
+                .addTask(1, JAN_1, 4, JAN_1.plusDays(3))
+                .addTask(2, JAN_1, null, JAN_1.plusDays(9))
+                .addEdge(1, 2)
+                .build();
+
+        assertArrayEquals(new int[] {1}, ScheduleEngine.recalculate(schedule));
+        assertEquals(JAN_1.plusDays(4), schedule.startDate(1));
+        assertEquals(JAN_1.plusDays(9), schedule.endDate(1));
+    }
+
+    @Test
+    void cycleIsRejected() {
+        TaskSchedule schedule = TaskSchedule.builder(2, 2)
+                .addTask(1, JAN_1, 1, JAN_1)
+                .addTask(2, JAN_1, 1, JAN_1)
+                .addEdge(1, 2)
+                .addEdge(2, 1)
+                .build();
+
+        assertThrows(CycleDetectedException.class, () -> ScheduleEngine.recalculate(schedule));
+        assertThrows(CycleDetectedException.class,
+                () -> ScheduleEngine.propagateDownstream(schedule, new long[] {1}, true));
+    }
+
+    @Test
+    void propagateOnlyRecomputesDirtyTasksAndWhatTheyMove() {
+        TaskSchedule schedule = TaskSchedule.builder(4, 2)
+                .addTask(1, JAN_1, 3, JAN_1.plusDays(2))
+                .addTask(2, JAN_1, 2, JAN_1.plusDays(1))
+                .addTask(3, JAN_1, 1, JAN_1)
+                .addTask(4, JAN_1, 1, JAN_1)
+                .addEdge(1, 2)
+                .addEdge(2, 3)
+                .build();
+        boolean[] dirty = new boolean[4];
+        dirty[1] = true;
+
+        int[] changed = ScheduleEngine.propagate(schedule, schedule.graph().topologicalOrder(), dirty);
+
+        assertArrayEquals(new int[] {1, 2}, changed);
+        assertEquals(JAN_1.plusDays(3), schedule.startDate(1));
+        assertEquals(JAN_1.plusDays(5), schedule.startDate(2));
+        assertArrayEquals(new boolean[] {false, true, true, false}, dirty);
+    }
+
+    @Test
+    void propagateDownstreamStopsAtSuccessorsThatDoNotMove() {
+        // Task 2 is held back by task 5, so moving task 1 leaves it, and the stale task 3 behind it, untouched
+        TaskSchedule schedule = TaskSchedule.builder(4, 3)
+                .addTask(1, JAN_1, 3, JAN_1.plusDays(2))
+                .addTask(2, JAN_1.plusDays(10), 2, JAN_1.plusDays(11))
+                .addTask(3, JAN_1, 1, JAN_1)
+                .addTask(5, JAN_1, 10, JAN_1.plusDays(9))
+                .addEdge(1, 2)
+                .addEdge(5, 2)
+                .addEdge(2, 3)
+                .build();
+
+        assertArrayEquals(new int[0], ScheduleEngine.propagateDownstream(schedule, new long[] {1, 99}, false));
+        assertEquals(JAN_1, schedule.startDate(2));
+    }
+
+    @Test
+    void propagateDownstreamRecomputesRootsOnlyWhenAsked() {
+        TaskSchedule schedule = TaskSchedule.builder(3, 2)
+                .addTask(1, JAN_1, 3, JAN_1.plusDays(2))
+                .addTask(2, JAN_1, 2, JAN_1.plusDays(1))
+                .addTask(3, JAN_1, 1, JAN_1)
+                .addEdge(1, 2)
+                .addEdge(2, 3)
+                .build();
+
+        assertArrayEquals(new int[] {2}, ScheduleEngine.propagateDownstream(schedule, new long[] {2}, false));
+        assertEquals(JAN_1, schedule.startDate(1));
+        assertEquals(JAN_1.plusDays(2), schedule.startDate(2));
+
+        assertArrayEquals(new int[] {1, 2}, ScheduleEngine.propagateDownstream(schedule, new long[] {2}, true));
+        assertEquals(JAN_1.plusDays(3), schedule.startDate(1));
+        assertEquals(JAN_1.plusDays(5), schedule.startDate(2));
+    }
+}
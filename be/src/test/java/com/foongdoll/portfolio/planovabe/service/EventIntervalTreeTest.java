@@ -0,0 +1,129 @@
+package com.foongdoll.portfolio.planovabe.service;
+
+import com.foongdoll.portfolio.planovabe.dto.response.CalendarEventResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EventIntervalTreeTest {
+
+    private static final LocalDate JAN_1 = LocalDate.of(2025, 1, 1);
+
+    @Test
+    void overlappingReturnsEventsAndOccurrencesInTheRange() {
+        EventIntervalTree tree = EventIntervalTree.of(List.of(
+                single(1L, JAN_1, JAN_1.plusDays(2)),
+                single(2L, JAN_1.plusDays(20), JAN_1.plusDays(20)),
+                RecurrenceTest.series(3L, "WEEKLY", 1, 4, null, List.of(), JAN_1, 0)));
+
+        List<CalendarEventResponse> found = all(tree, JAN_1.plusDays(2), JAN_1.plusDays(15));
+
+        assertEquals(List.of(1L, 3L, 3L), found.stream().map(CalendarEventResponse::id).toList());
+        assertEquals(List.of(JAN_1.plusDays(7), JAN_1.plusDays(14)),
+                found.stream().filter(e -> e.id() == 3L).map(CalendarEventResponse::startDate).toList());
+    }
+
+    @Test
+    void withAndWithoutKeepTheOtherSeriesExpanding() {
+        EventIntervalTree tree = EventIntervalTree.of(List.of(
+                RecurrenceTest.series(1L, "DAILY", 2, null, null, List.of(), JAN_1, 0),
+                single(2L, JAN_1.plusDays(5), JAN_1.plusDays(5))));
+
+        EventIntervalTree updated = tree
+                .with(single(3L, JAN_1.plusDays(1), JAN_1.plusDays(1)))
+                .with(RecurrenceTest.series(2L, "WEEKLY", 1, null, null, List.of(), JAN_1.plusDays(3), 0))
+                .without(3L);
+
+        assertEquals(2, updated.size());
+        assertEquals(List.of(JAN_1.plusDays(6), JAN_1.plusDays(8), JAN_1.plusDays(10), JAN_1.plusDays(10)),
+                all(updated, JAN_1.plusDays(6), JAN_1.plusDays(10)).stream()
+                        .map(CalendarEventResponse::startDate).toList());
+        assertEquals(List.of(JAN_1.plusDays(5)),
+                all(tree, JAN_1.plusDays(5), JAN_1.plusDays(5)).stream()
+                        .filter(e -> e.id() == 2L).map(CalendarEventResponse::startDate).toList());
+    }
+
+    @Test
+    void keysetPagesOverSameDayTiesLoseNothing() {
+        EventIntervalTree tree = EventIntervalTree.of(List.of(
+                single(9L, JAN_1.plusDays(2), JAN_1.plusDays(2)),
+                RecurrenceTest.series(4L, "DAILY", 1, null, null, List.of(), JAN_1, 0),
+                single(2L, JAN_1.plusDays(2), JAN_1.plusDays(3)),
+                RecurrenceTest.series(7L, "WEEKLY", 1, null, null, List.of(), JAN_1.plusDays(2), 1)));
+        long from = JAN_1.toEpochDay();
+        long to = JAN_1.plusDays(4).toEpochDay();
+
+        List<String> paged = new ArrayList<>();
+        List<CalendarEventResponse> page = tree.page(from, to, Long.MIN_VALUE, Long.MIN_VALUE, 2);
+        while (!page.isEmpty()) {
+            page.forEach(e -> paged.add(e.startDate() + "#" + e.id()));
+            CalendarEventResponse last = page.getLast();
+            page = tree.page(from, to, last.startDate().toEpochDay(), last.id(), 2);
+        }
+
+        assertEquals(List.of("2025-01-01#4", "2025-01-02#4", "2025-01-03#2", "2025-01-03#4", "2025-01-03#7",
+                "2025-01-03#9", "2025-01-04#4", "2025-01-05#4"), paged);
+    }
+
+    @Test
+    void pageOfAnUnboundedSeriesOverYearsHoldsOnlyItsRows() {
+        EventIntervalTree tree = EventIntervalTree.of(List.of(
+                RecurrenceTest.series(1L, "DAILY", 1, null, null, List.of(), JAN_1, 0),
+                single(2L, JAN_1.plusDays(1000), JAN_1.plusDays(1000))));
+        long from = JAN_1.toEpochDay();
+        long to = JAN_1.plusYears(50).toEpochDay();
+
+        List<CalendarEventResponse> page = tree.page(from, to, JAN_1.plusDays(999).toEpochDay(), 1L, 3);
+
+        assertEquals(List.of(JAN_1.plusDays(1000) + "#1", JAN_1.plusDays(1000) + "#2", JAN_1.plusDays(1001) + "#1"),
+                page.stream().map(e -> e.startDate() + "#" + e.id()).toList());
+    }
+
+    @Test
+    void pagesMatchTheFullExpansionAfterTheCursor() {
+        Random random = new Random(11);
+        String[] frequencies = {"DAILY", "WEEKLY", "MONTHLY"};
+        List<CalendarEventResponse> events = new ArrayList<>();
+        for (long id = 1; id <= 60; id++) {
+            LocalDate start = JAN_1.plusDays(random.nextInt(120));
+            events.add(random.nextInt(4) == 0
+                    ? RecurrenceTest.series(id, frequencies[random.nextInt(3)], 1 + random.nextInt(3),
+                            random.nextBoolean() ? null : 1 + random.nextInt(20), null, List.of(), start,
+                            random.nextInt(3))
+                    : single(id, start, start.plusDays(random.nextInt(5))));
+        }
+        EventIntervalTree tree = EventIntervalTree.of(events);
+
+        for (int round = 0; round < 300; round++) {
+            LocalDate from = JAN_1.plusDays(random.nextInt(150));
+            LocalDate to = from.plusDays(random.nextInt(90));
+            List<CalendarEventResponse> expanded = all(tree, from, to);
+            CalendarEventResponse after = expanded.isEmpty() || random.nextInt(4) == 0
+                    ? null : expanded.get(random.nextInt(expanded.size()));
+            int limit = 1 + random.nextInt(10);
+
+            List<CalendarEventResponse> expected = expanded.stream()
+                    .filter(e -> after == null || e.startDate().isAfter(after.startDate())
+                            || e.startDate().equals(after.startDate()) && e.id() > after.id())
+                    .limit(limit)
+                    .toList();
+            assertEquals(expected, tree.page(from.toEpochDay(), to.toEpochDay(),
+                    after != null ? after.startDate().toEpochDay() : Long.MIN_VALUE,
+                    after != null ? after.id() : Long.MIN_VALUE, limit));
+        }
+    }
+
+    private static List<CalendarEventResponse> all(EventIntervalTree tree, LocalDate from, LocalDate to) {
+        return tree.page(from.toEpochDay(), to.toEpochDay(), Long.MIN_VALUE, Long.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    static CalendarEventResponse single(Long id, LocalDate start, LocalDate end) {
+        return new CalendarEventResponse(id, "Event " + id, null, start, null, end, null, true, null, null, null,
+                null);
+    }
+}
@@ -0,0 +1,51 @@
+package com.foongdoll.portfolio.planovabe.service;
+
+import com.foongdoll.portfolio.planovabe.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PageCursorTest {
+
+    @Test
+    void keysRoundTrip() {
+        PageCursor.Keys keys = PageCursor.decode(PageCursor.encode(LocalDate.of(2025, 2, 28), 42L), 2);
+
+        assertEquals(LocalDate.of(2025, 2, 28), keys.dateAt(0));
+        assertEquals(42L, keys.longAt(1));
+        assertEquals(Integer.MIN_VALUE, PageCursor.decode(PageCursor.encode(Integer.MIN_VALUE, 7L), 2).intAt(0));
+    }
+
+    @Test
+    void missingCursorIsTheFirstPage() {
+        assertNull(PageCursor.decode(null, 1));
+        assertNull(PageCursor.decode("", 1));
+    }
+
+    @Test
+    void invalidCursorsAreRejected() {
+        assertThrows(InvalidRequestException.class, () -> PageCursor.decode("not base64!", 1));
+        assertThrows(InvalidRequestException.class, () -> PageCursor.decode(PageCursor.encode(1L, 2L), 1));
+        assertThrows(InvalidRequestException.class, () -> PageCursor.decode(PageCursor.encode(1L), 2));
+        assertThrows(InvalidRequestException.class, () -> PageCursor.decode(raw("abc"), 1).longAt(0));
+        assertThrows(InvalidRequestException.class, () -> PageCursor.decode(raw("99999999999"), 1).intAt(0));
+        assertThrows(InvalidRequestException.class, () -> PageCursor.decode(raw("2025-02-30|1"), 2).dateAt(0));
+    }
+
+    @Test
+    void limitIsDefaultedAndClamped() {
+        assertEquals(PageCursor.DEFAULT_LIMIT, PageCursor.limit(null));
+        assertEquals(PageCursor.MAX_LIMIT, PageCursor.limit(PageCursor.MAX_LIMIT + 1));
+        assertThrows(InvalidRequestException.class, () -> PageCursor.limit(0));
+    }
+
+    private static String raw(String joined) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+}
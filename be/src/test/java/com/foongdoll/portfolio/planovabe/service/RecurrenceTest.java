@@ -0,0 +1,134 @@
+package com.foongdoll.portfolio.planovabe.service;
+
+import com.foongdoll.portfolio.planovabe.dto.response.CalendarEventResponse;
+import com.foongdoll.portfolio.planovabe.dto.response.RecurrenceResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RecurrenceTest {
+
+    @Test
+    void monthlySeriesSkipsMonthsWithoutTheDay() {
+        Recurrence recurrence = recurrence("MONTHLY", 1, null, null, List.of(), LocalDate.of(2025, 1, 31), 0);
+
+        assertEquals(List.of(LocalDate.of(2025, 1, 31), LocalDate.of(2025, 3, 31), LocalDate.of(2025, 5, 31),
+                        LocalDate.of(2025, 7, 31), LocalDate.of(2025, 8, 31), LocalDate.of(2025, 10, 31),
+                        LocalDate.of(2025, 12, 31)),
+                starts(recurrence, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31)));
+    }
+
+    @Test
+    void countOnlyCountsMonthsThatHaveTheDay() {
+        Recurrence recurrence = recurrence("MONTHLY", 1, 3, null, List.of(), LocalDate.of(2025, 1, 31), 0);
+
+        assertEquals(List.of(LocalDate.of(2025, 1, 31), LocalDate.of(2025, 3, 31), LocalDate.of(2025, 5, 31)),
+                starts(recurrence, LocalDate.of(2025, 1, 1), LocalDate.of(2026, 12, 31)));
+        assertEquals(LocalDate.of(2025, 5, 31).toEpochDay(), recurrence.lastEndDay());
+    }
+
+    @Test
+    void leapDaySeriesOnlyFallsOnLeapYears() {
+        Recurrence recurrence = recurrence("MONTHLY", 12, 3, null, List.of(), LocalDate.of(2024, 2, 29), 0);
+
+        assertEquals(List.of(LocalDate.of(2024, 2, 29), LocalDate.of(2028, 2, 29), LocalDate.of(2032, 2, 29)),
+                starts(recurrence, LocalDate.of(2024, 1, 1), LocalDate.of(2040, 12, 31)));
+    }
+
+    @Test
+    void exceptionsDoNotGiveBackTheirPlaceInTheCount() {
+        Recurrence recurrence = recurrence("DAILY", 1, 5, null, List.of(LocalDate.of(2025, 1, 2)),
+                LocalDate.of(2025, 1, 1), 0);
+
+        assertEquals(List.of(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 3), LocalDate.of(2025, 1, 4),
+                        LocalDate.of(2025, 1, 5)),
+                starts(recurrence, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31)));
+    }
+
+    @Test
+    void untilIsTheLastPossibleStart() {
+        Recurrence recurrence = recurrence("WEEKLY", 1, null, LocalDate.of(2025, 1, 20), List.of(),
+                LocalDate.of(2025, 1, 6), 0);
+
+        assertEquals(List.of(LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 13), LocalDate.of(2025, 1, 20)),
+                starts(recurrence, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 31)));
+    }
+
+    @Test
+    void windowIncludesOccurrencesStartingBeforeItThatStillOverlap() {
+        Recurrence recurrence = recurrence("DAILY", 7, null, null, List.of(), LocalDate.of(2025, 1, 1), 2);
+
+        assertEquals(List.of(LocalDate.of(2025, 1, 8), LocalDate.of(2025, 1, 15)),
+                starts(recurrence, LocalDate.of(2025, 1, 10), LocalDate.of(2025, 1, 16)));
+    }
+
+    @Test
+    void countedMonthEndSeriesEndsWhereWalkingTheMonthsEnds() {
+        Random random = new Random(7);
+        for (int round = 0; round < 500; round++) {
+            LocalDate start = LocalDate.of(1990 + random.nextInt(60), 1 + random.nextInt(12), 1)
+                    .plusMonths(1).minusDays(1 + random.nextInt(3));
+            if (start.getDayOfMonth() <= 28) {
+                continue;
+            }
+            int interval = 1 + random.nextInt(30);
+            int count = 1 + random.nextInt(300);
+            Recurrence recurrence = recurrence("MONTHLY", interval, count, null, List.of(), start, 0);
+
+            assertEquals(walkedLastStart(start, interval, count).toEpochDay(), recurrence.lastEndDay(),
+                    () -> start + " every " + interval + " months, " + count + " times");
+        }
+    }
+
+    @Test
+    void countsPastTheLastRepresentableDateAreUnbounded() {
+        LocalDate start = LocalDate.of(2025, 1, 31);
+
+        assertEquals(Recurrence.UNBOUNDED,
+                recurrence("MONTHLY", Integer.MAX_VALUE, Integer.MAX_VALUE, null, List.of(), start, 0).lastEndDay());
+        assertEquals(Recurrence.UNBOUNDED,
+                recurrence("DAILY", Integer.MAX_VALUE, Integer.MAX_VALUE, null, List.of(), start, 0).lastEndDay());
+        assertEquals(List.of(start),
+                starts(recurrence("MONTHLY", Integer.MAX_VALUE, null, null, List.of(), start, 0),
+                        LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31)));
+    }
+
+    private static LocalDate walkedLastStart(LocalDate start, int interval, int count) {
+        LocalDate last = start;
+        int seen = 0;
+        for (long n = 0; seen < count; n++) {
+            LocalDate month = start.withDayOfMonth(1).plusMonths(n * interval);
+            if (start.getDayOfMonth() <= month.lengthOfMonth()) {
+                last = month.withDayOfMonth(start.getDayOfMonth());
+                seen++;
+            }
+        }
+        return last;
+    }
+
+    static Recurrence recurrence(String frequency, int interval, Integer count, LocalDate until,
+                                 List<LocalDate> exceptions, LocalDate start, int spanDays) {
+        return Recurrence.of(series(1L, frequency, interval, count, until, exceptions, start, spanDays));
+    }
+
+    static CalendarEventResponse series(Long id, String frequency, int interval, Integer count, LocalDate until,
+                                        List<LocalDate> exceptions, LocalDate start, int spanDays) {
+        LocalDate end = start.plusDays(spanDays);
+        return new CalendarEventResponse(id, "Series " + id, null, start, null, end, null, true, null, null, null,
+                new RecurrenceResponse(frequency, interval, count, until, exceptions, start, end));
+    }
+
+    private static List<LocalDate> starts(Recurrence recurrence, LocalDate from, LocalDate to) {
+        List<LocalDate> starts = new ArrayList<>();
+        Recurrence.Cursor cursor = recurrence.occurrences(from.toEpochDay(), to.toEpochDay());
+        for (long day = cursor.nextStartDay(); day != Recurrence.NO_MORE; day = cursor.nextStartDay()) {
+            starts.add(LocalDate.ofEpochDay(day));
+        }
+        return starts;
+    }
+}
@@ -4,7 +4,7 @@ import { useEffect } from 'react';
 import { useParams } from 'next/navigation';
 import { useProjectStore } from '@/lib/stores/project-store';
 import { useTaskStore } from '@/lib/stores/task-store';
-import { useDependencyStore } from '@/lib/stores/dependency-store';
+import { useProjectEvents } from '@/lib/hooks/use-project-events';
 import { Header } from '@/components/layout/Header';
 import { FlowCanvas } from '@/components/canvas/FlowCanvas';
 import { Spinner } from '@/components/ui/Spinner';
@@ -14,18 +14,18 @@ export default function ProjectPage() {
   const projectId = Number(params.projectId);
 
   const projects = useProjectStore((s) => s.projects);
-  const fetchTasks = useTaskStore((s) => s.fetchTasks);
+  const fetchBoard = useTaskStore((s) => s.fetchBoard);
   const tasksLoading = useTaskStore((s) => s.loading);
-  const fetchDependencies = useDependencyStore((s) => s.fetchDependencies);
 
   const project = projects.find((p) => p.id === projectId);
 
   useEffect(() => {
     if (projectId) {
-      fetchTasks(projectId);
-      fetchDependencies(projectId);
+      fetchBoard(projectId);
     }
-  }, [projectId, fetchTasks, fetchDependencies]);
+  }, [projectId, fetchBoard]);
+
+  useProjectEvents(projectId);
 
   if (tasksLoading) {
     return (
@@ -15,7 +15,7 @@ interface CalendarEventModalProps {
 }
 
 export function CalendarEventModal({ date, event, onClose }: CalendarEventModalProps) {
-  const { createEvent, updateEvent, deleteEvent } = useCalendarStore();
+  const { createEvent, updateEvent, deleteEvent, deleteOccurrence } = useCalendarStore();
 
   const [title, setTitle] = useState('');
   const [description, setDescription] = useState('');
@@ -33,8 +33,9 @@ export function CalendarEventModal({ date, event, onClose }: CalendarEventModalP
     if (event) {
       setTitle(event.title);
       setDescription(event.description ?? '');
-      setStartDate(event.startDate);
-      setEndDate(event.endDate);
+      // Editing an occurrence edits its series, so the form shows the series' dates
+      setStartDate(event.recurrence?.seriesStartDate ?? event.startDate);
+      setEndDate(event.recurrence?.seriesEndDate ?? event.endDate);
       setStartTime(event.startTime ?? '');
       setEndTime(event.endTime ?? '');
       setAllDay(event.allDay);
@@ -79,7 +80,12 @@ export function CalendarEventModal({ date, event, onClose }: CalendarEventModalP
 
   const handleDelete = async () => {
     if (!event) return;
-    if (confirm('이 일정을 삭제하시겠습니까?')) {
+    if (event.recurrence && confirm('이 날짜의 일정만 삭제하시겠습니까?')) {
+      await deleteOccurrence(event.id, event.startDate);
+      onClose();
+      return;
+    }
+    if (confirm(event.recurrence ? '반복 일정 전체를 삭제하시겠습니까?' : '이 일정을 삭제하시겠습니까?')) {
       await deleteEvent(event.id);
       onClose();
     }
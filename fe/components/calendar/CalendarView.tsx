@@ -80,7 +80,7 @@ export function CalendarView() {
     // Calendar events
     events.forEach((e) => {
       items.push({
-        id: `event-${e.id}`,
+        id: `event-${e.id}-${e.startDate}`,
         title: e.title,
         color: e.color || '#DBEAFE',
         startDate: e.startDate,
@@ -125,7 +125,7 @@ export function CalendarView() {
   const handleEventClick = (item: CalendarItem, e: React.MouseEvent) => {
     e.stopPropagation();
     if (!item.isTask && item.eventId) {
-      const event = events.find((ev) => ev.id === item.eventId);
+      const event = events.find((ev) => ev.id === item.eventId && ev.startDate === item.startDate);
       if (event) {
         setEditingEvent(event);
         setSelectedDate(event.startDate);
@@ -3,8 +3,6 @@
 import { useEffect, useState } from 'react';
 import { useRouter, useParams, usePathname } from 'next/navigation';
 import { useProjectStore } from '@/lib/stores/project-store';
-import { useTaskStore } from '@/lib/stores/task-store';
-import { useDependencyStore } from '@/lib/stores/dependency-store';
 import { useUiStore } from '@/lib/stores/ui-store';
 import { SidebarProjectItem } from './SidebarProjectItem';
 import { SidebarSearch } from './SidebarSearch';
@@ -17,21 +15,12 @@ export function Sidebar() {
   const setSidebarOpen = useUiStore((s) => s.setSidebarOpen);
 
   const { projects, fetchProjects, createProject } = useProjectStore();
-  const fetchTasks = useTaskStore((s) => s.fetchTasks);
-  const fetchDependencies = useDependencyStore((s) => s.fetchDependencies);
   const [searchQuery, setSearchQuery] = useState('');
 
   useEffect(() => {
     fetchProjects();
   }, [fetchProjects]);
 
-  useEffect(() => {
-    if (projectId) {
-      fetchTasks(projectId);
-      fetchDependencies(projectId);
-    }
-  }, [projectId, fetchTasks, fetchDependencies]);
-
   const filteredProjects = searchQuery
     ? projects.filter((p) => p.name.toLowerCase().includes(searchQuery.toLowerCase()))
     : projects;
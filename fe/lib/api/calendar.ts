@@ -1,14 +1,10 @@
-import { apiFetch } from './client';
-import type { CalendarEvent, CreateCalendarEventRequest, UpdateCalendarEventRequest } from '@/lib/types';
+import { apiFetch, collectPages, pageQuery } from './client';
+import type { CalendarEvent, CreateCalendarEventRequest, Page, UpdateCalendarEventRequest } from '@/lib/types';
 
 export const calendarApi = {
-  getEvents: (startDate?: string, endDate?: string) => {
-    const params = new URLSearchParams();
-    if (startDate) params.set('startDate', startDate);
-    if (endDate) params.set('endDate', endDate);
-    const qs = params.toString();
-    return apiFetch<CalendarEvent[]>(`/calendar/events${qs ? `?${qs}` : ''}`);
-  },
+  getEvents: (startDate?: string, endDate?: string) =>
+    collectPages((cursor) =>
+      apiFetch<Page<CalendarEvent>>(`/calendar/events${pageQuery(cursor, { startDate, endDate })}`)),
 
   create: (data: CreateCalendarEventRequest) =>
     apiFetch<CalendarEvent>('/calendar/events', { method: 'POST', body: JSON.stringify(data) }),
@@ -16,6 +12,9 @@ export const calendarApi = {
   update: (eventId: number, data: UpdateCalendarEventRequest) =>
     apiFetch<CalendarEvent>(`/calendar/events/${eventId}`, { method: 'PATCH', body: JSON.stringify(data) }),
 
+  deleteOccurrence: (eventId: number, occurrenceDate: string) =>
+    apiFetch<CalendarEvent>(`/calendar/events/${eventId}/occurrences/${occurrenceDate}`, { method: 'DELETE' }),
+
   delete: (eventId: number) =>
     apiFetch<void>(`/calendar/events/${eventId}`, { method: 'DELETE' }),
 };
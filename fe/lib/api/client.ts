@@ -1,7 +1,8 @@
 import { API_BASE } from '@/lib/utils/constants';
+import type { Page } from '@/lib/types';
 
-class ApiError extends Error {
-  constructor(public status: number, message: string) {
+export class ApiError extends Error {
+  constructor(public status: number, message: string, public body: Record<string, unknown> = {}) {
     super(message);
   }
 }
@@ -40,8 +41,32 @@ export async function apiFetch<T>(
 
   if (!res.ok) {
     const body = await res.json().catch(() => ({}));
-    throw new ApiError(res.status, body.message || 'Request failed');
+    throw new ApiError(res.status, body.message || 'Request failed', body);
   }
 
   return res.json();
 }
+
+export function pageQuery(cursor?: string, extra: Record<string, string | undefined> = {}): string {
+  const params = new URLSearchParams();
+  Object.entries(extra).forEach(([key, value]) => {
+    if (value) params.set(key, value);
+  });
+  if (cursor) params.set('cursor', cursor);
+  const qs = params.toString();
+  return qs ? `?${qs}` : '';
+}
+
+// Follows nextCursor until the last page; first may be a page the caller already holds
+export async function collectPages<T>(
+  fetchPage: (cursor?: string) => Promise<Page<T>>,
+  first?: Page<T>,
+): Promise<T[]> {
+  let page = first ?? (await fetchPage());
+  const items = [...page.items];
+  while (page.nextCursor) {
+    page = await fetchPage(page.nextCursor);
+    items.push(...page.items);
+  }
+  return items;
+}
@@ -1,9 +1,10 @@
-import { apiFetch } from './client';
-import type { CreateDependencyRequest, Dependency } from '@/lib/types';
+import { apiFetch, collectPages, pageQuery } from './client';
+import type { CreateDependencyRequest, Dependency, Page } from '@/lib/types';
 
 export const dependenciesApi = {
   getByProject: (projectId: number) =>
-    apiFetch<Dependency[]>(`/projects/${projectId}/dependencies`),
+    collectPages((cursor) =>
+      apiFetch<Page<Dependency>>(`/projects/${projectId}/dependencies${pageQuery(cursor)}`)),
 
   create: (projectId: number, data: CreateDependencyRequest) =>
     apiFetch<Dependency>(`/projects/${projectId}/dependencies`, { method: 'POST', body: JSON.stringify(data) }),
@@ -0,0 +1,50 @@
+import { API_BASE } from '@/lib/utils/constants';
+import type { ProjectChanges, RecalculationJob } from '@/lib/types';
+
+export type ProjectEvent =
+  | { type: 'ready' | 'resync'; version: number }
+  | { type: 'changes'; since: number; changes: ProjectChanges }
+  | ({ type: 'recalculation' } & RecalculationJob);
+
+// EventSource cannot send the Authorization header, so the stream is read through fetch
+export async function streamProjectEvents(
+  projectId: number,
+  onEvent: (event: ProjectEvent) => void,
+  signal: AbortSignal,
+): Promise<void> {
+  const token = localStorage.getItem('token');
+  const res = await fetch(`${API_BASE}/projects/${projectId}/events`, {
+    headers: {
+      Accept: 'text/event-stream',
+      ...(token ? { Authorization: `Bearer ${token}` } : {}),
+    },
+    signal,
+  });
+  if (!res.ok || !res.body) {
+    throw new Error(`Event stream failed: ${res.status}`);
+  }
+
+  const reader = res.body.pipeThrough(new TextDecoderStream()).getReader();
+  let buffer = '';
+  for (;;) {
+    const { value, done } = await reader.read();
+    if (done) return;
+    buffer += value;
+
+    let end: number;
+    while ((end = buffer.indexOf('\n\n')) >= 0) {
+      const block = buffer.slice(0, end);
+      buffer = buffer.slice(end + 2);
+
+      let type = 'message';
+      const data: string[] = [];
+      for (const line of block.split('\n')) {
+        if (line.startsWith('event:')) type = line.slice(6).trim();
+        else if (line.startsWith('data:')) data.push(line.slice(5).replace(/^ /, ''));
+      }
+      if (data.length > 0) {
+        onEvent({ type, ...JSON.parse(data.join('\n')) } as ProjectEvent);
+      }
+    }
+  }
+}
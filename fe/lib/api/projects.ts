@@ -1,13 +1,19 @@
-import { apiFetch } from './client';
-import type { CreateProjectRequest, Project, UpdateProjectRequest } from '@/lib/types';
+import { apiFetch, collectPages, pageQuery } from './client';
+import type { CreateProjectRequest, Page, Project, ProjectChanges, ProjectSnapshot, UpdateProjectRequest } from '@/lib/types';
 
 export const projectsApi = {
   getAll: () =>
-    apiFetch<Project[]>('/projects'),
+    collectPages((cursor) => apiFetch<Page<Project>>(`/projects${pageQuery(cursor)}`)),
 
   getById: (id: number) =>
     apiFetch<Project>(`/projects/${id}`),
 
+  getSnapshot: (id: number) =>
+    apiFetch<ProjectSnapshot>(`/projects/${id}/snapshot`),
+
+  getChanges: (id: number, since: number) =>
+    apiFetch<ProjectChanges>(`/projects/${id}/changes?since=${since}`),
+
   create: (data: CreateProjectRequest) =>
     apiFetch<Project>('/projects', { method: 'POST', body: JSON.stringify(data) }),
 
@@ -1,7 +1,17 @@
 import { apiFetch } from './client';
-import type { Task } from '@/lib/types';
+import type { Page, RecalculationJob, Task } from '@/lib/types';
+import { tasksApi } from './tasks';
 
 export const scheduleApi = {
-  recalculate: (projectId: number) =>
-    apiFetch<Task[]>(`/projects/${projectId}/recalculate`, { method: 'POST' }),
+  // The response carries the first page of tasks; the rest is read from the task listing
+  recalculate: async (projectId: number) => {
+    const first = await apiFetch<Page<Task>>(`/projects/${projectId}/recalculate`, { method: 'POST' });
+    return tasksApi.getByProject(projectId, first);
+  },
+
+  submitRecalculation: (projectId: number) =>
+    apiFetch<RecalculationJob>(`/projects/${projectId}/recalculation-jobs`, { method: 'POST' }),
+
+  getRecalculation: (projectId: number, jobId: string) =>
+    apiFetch<RecalculationJob>(`/projects/${projectId}/recalculation-jobs/${jobId}`),
 };
@@ -1,9 +1,12 @@
-import { apiFetch } from './client';
-import type { CreateTaskRequest, Task, UpdateTaskRequest } from '@/lib/types';
+import { apiFetch, collectPages, pageQuery } from './client';
+import type { CreateTaskRequest, Page, Task, UpdateTaskRequest } from '@/lib/types';
 
 export const tasksApi = {
-  getByProject: (projectId: number) =>
-    apiFetch<Task[]>(`/projects/${projectId}/tasks`),
+  getPage: (projectId: number, cursor?: string) =>
+    apiFetch<Page<Task>>(`/projects/${projectId}/tasks${pageQuery(cursor)}`),
+
+  getByProject: (projectId: number, first?: Page<Task>) =>
+    collectPages((cursor) => tasksApi.getPage(projectId, cursor), first),
 
   create: (projectId: number, data: CreateTaskRequest) =>
     apiFetch<Task>(`/projects/${projectId}/tasks`, { method: 'POST', body: JSON.stringify(data) }),
@@ -0,0 +1,55 @@
+'use client';
+
+import { useEffect } from 'react';
+import { ApiError } from '@/lib/api/client';
+import { projectsApi } from '@/lib/api/projects';
+import { streamProjectEvents, type ProjectEvent } from '@/lib/api/events';
+import { useTaskStore } from '@/lib/stores/task-store';
+
+const RECONNECT_DELAY_MS = 3000;
+
+/** Keeps the loaded board in sync with edits committed by other users. */
+export function useProjectEvents(projectId: number) {
+  useEffect(() => {
+    if (!projectId) return;
+    const controller = new AbortController();
+
+    const catchUp = async () => {
+      const { version, applyChanges, fetchBoard } = useTaskStore.getState();
+      try {
+        applyChanges(await projectsApi.getChanges(projectId, version));
+      } catch (e) {
+        // Deletions since our version were compacted away, so only a full snapshot is safe
+        if (e instanceof ApiError && e.status === 410) await fetchBoard(projectId);
+        else throw e;
+      }
+    };
+
+    const handle = (event: ProjectEvent) => {
+      const { version, loading, applyChanges } = useTaskStore.getState();
+      if (loading) return;
+      if (event.type === 'changes') {
+        if (event.since <= version) applyChanges(event.changes);
+        else catchUp();
+      } else if (event.type === 'recalculation') {
+        // Moved dates arrive as a regular 'changes' event once the job commits
+      } else if (event.version > version) {
+        catchUp();
+      }
+    };
+
+    const connect = async () => {
+      while (!controller.signal.aborted) {
+        try {
+          await streamProjectEvents(projectId, handle, controller.signal);
+        } catch {
+          if (controller.signal.aborted) return;
+        }
+        await new Promise((resolve) => setTimeout(resolve, RECONNECT_DELAY_MS));
+      }
+    };
+
+    connect();
+    return () => controller.abort();
+  }, [projectId]);
+}
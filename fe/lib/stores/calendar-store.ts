@@ -6,32 +6,45 @@ import { calendarApi } from '@/lib/api/calendar';
 
 interface CalendarState {
   events: CalendarEvent[];
+  range: { startDate?: string; endDate?: string };
   loading: boolean;
   fetchEvents: (startDate?: string, endDate?: string) => Promise<void>;
   createEvent: (data: CreateCalendarEventRequest) => Promise<CalendarEvent>;
   updateEvent: (eventId: number, data: UpdateCalendarEventRequest) => Promise<CalendarEvent>;
   deleteEvent: (eventId: number) => Promise<void>;
+  deleteOccurrence: (eventId: number, occurrenceDate: string) => Promise<void>;
 }
 
 export const useCalendarStore = create<CalendarState>((set, get) => ({
   events: [],
+  range: {},
   loading: false,
 
   fetchEvents: async (startDate, endDate) => {
-    set({ loading: true });
+    set({ loading: true, range: { startDate, endDate } });
     const events = await calendarApi.getEvents(startDate, endDate);
     set({ events, loading: false });
   },
 
+  // Occurrences of a series are only expanded by the server, so series changes refetch the visible range
   createEvent: async (data) => {
     const event = await calendarApi.create(data);
-    set({ events: [...get().events, event] });
+    if (event.recurrence) {
+      await refetch();
+    } else {
+      set({ events: [...get().events, event] });
+    }
     return event;
   },
 
   updateEvent: async (eventId, data) => {
+    const wasRecurring = get().events.some((e) => e.id === eventId && e.recurrence);
     const updated = await calendarApi.update(eventId, data);
-    set({ events: get().events.map((e) => (e.id === eventId ? updated : e)) });
+    if (wasRecurring || updated.recurrence) {
+      await refetch();
+    } else {
+      set({ events: get().events.map((e) => (e.id === eventId ? updated : e)) });
+    }
     return updated;
   },
 
@@ -39,4 +52,14 @@ export const useCalendarStore = create<CalendarState>((set, get) => ({
     await calendarApi.delete(eventId);
     set({ events: get().events.filter((e) => e.id !== eventId) });
   },
+
+  deleteOccurrence: async (eventId, occurrenceDate) => {
+    await calendarApi.deleteOccurrence(eventId, occurrenceDate);
+    set({ events: get().events.filter((e) => !(e.id === eventId && e.startDate === occurrenceDate)) });
+  },
 }));
+
+function refetch() {
+  const { range, fetchEvents } = useCalendarStore.getState();
+  return fetchEvents(range.startDate, range.endDate);
+}
@@ -1,7 +1,7 @@
 'use client';
 
 import { create } from 'zustand';
-import type { Dependency, CreateDependencyRequest } from '@/lib/types';
+import type { Dependency, CreateDependencyRequest, ProjectChanges } from '@/lib/types';
 import { dependenciesApi } from '@/lib/api/dependencies';
 
 interface DependencyState {
@@ -10,6 +10,8 @@ interface DependencyState {
   fetchDependencies: (projectId: number) => Promise<void>;
   createDependency: (projectId: number, data: CreateDependencyRequest) => Promise<Dependency>;
   deleteDependency: (depId: number) => Promise<void>;
+  setDependencies: (dependencies: Dependency[]) => void;
+  applyChanges: (changes: ProjectChanges) => void;
 }
 
 export const useDependencyStore = create<DependencyState>((set, get) => ({
@@ -32,4 +34,18 @@ export const useDependencyStore = create<DependencyState>((set, get) => ({
     await dependenciesApi.delete(depId);
     set({ dependencies: get().dependencies.filter((d) => d.id !== depId) });
   },
+
+  setDependencies: (dependencies) => set({ dependencies }),
+
+  applyChanges: (changes) => {
+    const deletedTasks = new Set(changes.deletedTaskIds);
+    const deleted = new Set(changes.deletedDependencyIds);
+    const known = new Set<number>();
+    const dependencies = get().dependencies.filter((d) => {
+      known.add(d.id);
+      return !deleted.has(d.id) && !deletedTasks.has(d.fromTaskId) && !deletedTasks.has(d.toTaskId);
+    });
+    dependencies.push(...changes.dependencies.filter((d) => !known.has(d.id)));
+    set({ dependencies });
+  },
 }));
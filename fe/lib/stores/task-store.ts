@@ -1,22 +1,33 @@
 'use client';
 
 import { create } from 'zustand';
-import type { Task, CreateTaskRequest, UpdateTaskRequest } from '@/lib/types';
+import type { Task, CreateTaskRequest, UpdateTaskRequest, ProjectChanges } from '@/lib/types';
 import { tasksApi } from '@/lib/api/tasks';
+import { projectsApi } from '@/lib/api/projects';
+import { ApiError } from '@/lib/api/client';
+import { useDependencyStore } from './dependency-store';
+
+function conflictState(e: unknown): Task | null {
+  return e instanceof ApiError && e.status === 409 ? ((e.body.current as Task | null) ?? null) : null;
+}
 
 interface TaskState {
   tasks: Task[];
+  version: number;
   loading: boolean;
   fetchTasks: (projectId: number) => Promise<void>;
+  fetchBoard: (projectId: number) => Promise<void>;
   createTask: (projectId: number, data: CreateTaskRequest) => Promise<Task>;
   updateTask: (taskId: number, data: UpdateTaskRequest) => Promise<Task>;
   deleteTask: (taskId: number) => Promise<void>;
   updatePosition: (taskId: number, x: number, y: number) => Promise<void>;
   setTasks: (tasks: Task[]) => void;
+  applyChanges: (changes: ProjectChanges) => void;
 }
 
 export const useTaskStore = create<TaskState>((set, get) => ({
   tasks: [],
+  version: 0,
   loading: false,
 
   fetchTasks: async (projectId) => {
@@ -25,16 +36,32 @@ export const useTaskStore = create<TaskState>((set, get) => ({
     set({ tasks, loading: false });
   },
 
+  // Tasks and dependencies in one request
+  fetchBoard: async (projectId) => {
+    set({ loading: true });
+    const snapshot = await projectsApi.getSnapshot(projectId);
+    useDependencyStore.getState().setDependencies(snapshot.dependencies);
+    set({ tasks: snapshot.tasks, version: snapshot.version, loading: false });
+  },
+
   createTask: async (projectId, data) => {
     const task = await tasksApi.create(projectId, data);
     set({ tasks: [...get().tasks, task] });
     return task;
   },
 
+  // Sends the known version; on a conflict the server's current task replaces the local one before rethrowing
   updateTask: async (taskId, data) => {
-    const updated = await tasksApi.update(taskId, data);
-    set({ tasks: get().tasks.map((t) => (t.id === taskId ? updated : t)) });
-    return updated;
+    const base = get().tasks.find((t) => t.id === taskId)?.version;
+    try {
+      const updated = await tasksApi.update(taskId, { version: base, ...data });
+      set({ tasks: get().tasks.map((t) => (t.id === taskId ? updated : t)) });
+      return updated;
+    } catch (e) {
+      const current = conflictState(e);
+      if (current) set({ tasks: get().tasks.map((t) => (t.id === taskId ? current : t)) });
+      throw e;
+    }
   },
 
   deleteTask: async (taskId) => {
@@ -42,10 +69,29 @@ export const useTaskStore = create<TaskState>((set, get) => ({
     set({ tasks: get().tasks.filter((t) => t.id !== taskId) });
   },
 
+  // A drop is the user's latest intent, so a conflicting move is retried once on top of the current state
   updatePosition: async (taskId, x, y) => {
-    const updated = await tasksApi.update(taskId, { positionX: x, positionY: y });
-    set({ tasks: get().tasks.map((t) => (t.id === taskId ? updated : t)) });
+    try {
+      await get().updateTask(taskId, { positionX: x, positionY: y });
+    } catch (e) {
+      if (!conflictState(e)) throw e;
+      await get().updateTask(taskId, { positionX: x, positionY: y });
+    }
   },
 
   setTasks: (tasks) => set({ tasks }),
+
+  // Merges a delta from the changes endpoint or the event stream into both stores
+  applyChanges: (changes) => {
+    if (changes.version <= get().version) return;
+    const deleted = new Set(changes.deletedTaskIds);
+    const changed = new Map(changes.tasks.map((t) => [t.id, t]));
+    const tasks = get().tasks
+      .filter((t) => !deleted.has(t.id))
+      .map((t) => changed.get(t.id) ?? t);
+    const known = new Set(tasks.map((t) => t.id));
+    tasks.push(...changes.tasks.filter((t) => !known.has(t.id)));
+    useDependencyStore.getState().applyChanges(changes);
+    set({ tasks, version: changes.version });
+  },
 }));
@@ -32,6 +32,7 @@ export interface Task {
   color: string | null;
   createdAt: string;
   updatedAt: string;
+  version: number;
 }
 
 export interface Dependency {
@@ -40,6 +41,34 @@ export interface Dependency {
   fromTaskId: number;
   toTaskId: number;
   createdAt: string;
+  version: number;
+}
+
+export interface ProjectSnapshot {
+  project: Project;
+  version: number;
+  tasks: Task[];
+  dependencies: Dependency[];
+}
+
+export interface ProjectChanges {
+  projectId: number;
+  version: number;
+  tasks: Task[];
+  dependencies: Dependency[];
+  deletedTaskIds: number[];
+  deletedDependencyIds: number[];
+}
+
+export interface RecalculationJob {
+  id: string;
+  projectId: number;
+  status: 'QUEUED' | 'RUNNING' | 'SUCCEEDED' | 'FAILED';
+  submittedAt: string;
+  startedAt: string | null;
+  finishedAt: string | null;
+  changedTasks: number;
+  error: string | null;
 }
 
 // === Request Types ===
@@ -87,6 +116,8 @@ export interface UpdateTaskRequest {
   positionX?: number;
   positionY?: number;
   color?: string;
+  // Version the edit is based on; omitted means last writer wins
+  version?: number;
 }
 
 export interface CreateDependencyRequest {
@@ -95,6 +126,19 @@ export interface CreateDependencyRequest {
 }
 
 // === Calendar ===
+export type RecurrenceFrequency = 'DAILY' | 'WEEKLY' | 'MONTHLY';
+
+export interface Recurrence {
+  frequency: RecurrenceFrequency;
+  interval: number;
+  count: number | null;
+  until: string | null;
+  exceptions: string[];
+  seriesStartDate: string;
+  seriesEndDate: string;
+}
+
+// Range queries return each occurrence of a series with its own dates and the series' id
 export interface CalendarEvent {
   id: number;
   title: string;
@@ -107,6 +151,16 @@ export interface CalendarEvent {
   color: string | null;
   createdAt: string;
   updatedAt: string;
+  recurrence: Recurrence | null;
+}
+
+// An empty frequency removes the recurrence
+export interface RecurrenceRequest {
+  frequency: RecurrenceFrequency | '';
+  interval?: number;
+  count?: number;
+  until?: string;
+  exceptions?: string[];
 }
 
 export interface CreateCalendarEventRequest {
@@ -118,6 +172,7 @@ export interface CreateCalendarEventRequest {
   endTime?: string;
   allDay?: boolean;
   color?: string;
+  recurrence?: RecurrenceRequest;
 }
 
 export interface UpdateCalendarEventRequest {
@@ -129,6 +184,7 @@ export interface UpdateCalendarEventRequest {
   endTime?: string;
   allDay?: boolean;
   color?: string;
+  recurrence?: RecurrenceRequest;
 }
 
 // === Palette ===
@@ -151,3 +207,9 @@ export interface TreeNode {
   task: Task;
   children: TreeNode[];
 }
+
+// Keyset-paginated list; nextCursor is null on the last page
+export interface Page<T> {
+  items: T[];
+  nextCursor: string | null;
+}